@@ -0,0 +1,28 @@
+package com.example.gamesudoku.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Ejecuta los benchmarks con el perfilador de GC activado, para que cada resultado incluya
+ * la tasa de asignación de memoria además del rendimiento.
+ * Acepta las mismas opciones de línea de comandos que JMH (por ejemplo un filtro de nombres).
+ *
+ * @author Jeferson Stiven Trullott Rivas
+ * @author Juan Carlos Fuentes
+ * @version 1.0
+ */
+public class EjecutarBenchmarks {
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions opciones = new CommandLineOptions(args);
+        new Runner(new OptionsBuilder()
+                .parent(opciones)
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
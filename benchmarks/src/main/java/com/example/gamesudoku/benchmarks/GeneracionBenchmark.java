@@ -0,0 +1,83 @@
+package com.example.gamesudoku.benchmarks;
+
+import com.example.gamesudoku.Model.Geometria;
+import com.example.gamesudoku.Model.JuegoSudoku;
+import com.example.gamesudoku.Model.SolucionadorBacktracking;
+import com.example.gamesudoku.Model.Tablero;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide la generación del tablero resuelto y del tablero inicial.
+ * Para {@code excavar} se informan además, como contadores auxiliares (totales por
+ * iteración, a dividir entre las operaciones), las comprobaciones de unicidad y pasadas de
+ * excavación, y cuántas veces no se logró dejar exactamente las pistas pedidas por bloque.
+ *
+ * @author Jeferson Stiven Trullott Rivas
+ * @author Juan Carlos Fuentes
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class GeneracionBenchmark {
+
+    private JuegoSudoku sudoku;
+    private int[][] solucion;
+    private SolucionadorBacktracking contador;
+
+    /**
+     * Contadores por operación de la excavación del tablero inicial.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Contadores {
+        public long comprobaciones;
+        public long pasadas;
+        public long limiteNoCumplido;
+    }
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        sudoku = new JuegoSudoku();
+        sudoku.sudokuResuelto();
+        solucion = sudoku.getSolucion().aMatriz();
+        contador = new SolucionadorBacktracking(Geometria.G6X6);
+    }
+
+    @Benchmark
+    public boolean sudokuResuelto() {
+        return sudoku.sudokuResuelto();
+    }
+
+    @Benchmark
+    public Tablero excavar(Contadores contadores) {
+        Tablero tablero = sudoku.getGenerador().excavar(solucion, Geometria.G6X6.getPistasPorBloque(), contador);
+        contadores.comprobaciones += sudoku.getGenerador().getComprobaciones();
+        contadores.pasadas += sudoku.getGenerador().getPasadas();
+        if (!sudoku.getGenerador().isLimiteCumplido()) {
+            contadores.limiteNoCumplido++;
+        }
+        return tablero;
+    }
+
+    @Benchmark
+    public Tablero generarNuevoTablero() {
+        return sudoku.generarNuevoTablero();
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.gamesudoku.benchmarks;
+
+import com.example.gamesudoku.Model.ContadorSoluciones;
+import com.example.gamesudoku.Model.Geometria;
+import com.example.gamesudoku.Model.JuegoSudoku;
+import com.example.gamesudoku.Model.SolucionadorBacktracking;
+import com.example.gamesudoku.Model.SolucionadorParalelo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide cómo escala la comprobación de unicidad de {@link SolucionadorParalelo} con el número
+ * de hilos del pool, en tableros grandes, frente al backtracking en un solo hilo.
+ * <p>
+ * Los tableros son juegos con solución única excavados sin mínimo de pistas por bloque (como
+ * los de {@code EXPERTO}), así que contar con límite 2 obliga a recorrer el árbol completo.
+ * {@code secuencial} no depende de {@code hilos}; se repite en cada valor como referencia.
+ *
+ * @author Jeferson Stiven Trullott Rivas
+ * @author Juan Carlos Fuentes
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ParaleloBenchmark {
+
+    private static final int TABLEROS = 8;
+
+    @Param({"9", "12"})
+    public int tamanio;
+
+    /**
+     * Hilos del pool; 0 usa todos los procesadores.
+     */
+    @Param({"1", "2", "4", "0"})
+    public int hilos;
+
+    private ForkJoinPool pool;
+    private ContadorSoluciones paralelo;
+    private ContadorSoluciones secuencial;
+    private int[][][] tableros;
+    private int siguiente;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        Geometria geometria = Geometria.de(tamanio);
+        pool = new ForkJoinPool(hilos > 0 ? hilos : Runtime.getRuntime().availableProcessors());
+        paralelo = new SolucionadorParalelo(geometria, pool);
+        secuencial = new SolucionadorBacktracking(geometria);
+
+        // Semilla fija: todos los valores de hilos miden los mismos tableros
+        JuegoSudoku sudoku = new JuegoSudoku(geometria, new SplittableRandom(42));
+        tableros = new int[TABLEROS][][];
+        for (int t = 0; t < TABLEROS; t++) {
+            sudoku.sudokuResuelto();
+            tableros[t] = sudoku.getGenerador().excavar(sudoku.getSolucion().aMatriz(), 0, secuencial).aMatriz();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public int paralelo() {
+        int[][] tablero = tableros[siguiente];
+        siguiente = (siguiente + 1) % TABLEROS;
+        return paralelo.contarSoluciones(tablero, 2);
+    }
+
+    @Benchmark
+    public int secuencial() {
+        int[][] tablero = tableros[siguiente];
+        siguiente = (siguiente + 1) % TABLEROS;
+        return secuencial.contarSoluciones(tablero, 2);
+    }
+}
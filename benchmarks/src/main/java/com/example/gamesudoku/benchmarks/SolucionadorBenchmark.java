@@ -0,0 +1,81 @@
+package com.example.gamesudoku.benchmarks;
+
+import com.example.gamesudoku.Model.JuegoSudoku;
+import com.example.gamesudoku.Model.ModoSolucionador;
+import com.example.gamesudoku.Model.Tablero;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide {@code contarSoluciones} (con límite 2, como la comprobación de unicidad) sobre
+ * tableros con distinta cantidad de pistas y con cada modo de solucionador.
+ * Se prepara un conjunto fijo de tableros y se recorre en ciclo para no medir un solo caso.
+ *
+ * @author Jeferson Stiven Trullott Rivas
+ * @author Juan Carlos Fuentes
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SolucionadorBenchmark {
+
+    private static final int TABLEROS = 256;
+
+    @Param({"8", "12", "16", "20", "24"})
+    public int pistas;
+
+    @Param({"BACKTRACKING", "DLX", "PARALELO", "ITERATIVO"})
+    public ModoSolucionador modo;
+
+    private JuegoSudoku sudoku;
+    private Tablero[] tableros;
+    private int siguiente;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        sudoku = new JuegoSudoku();
+        sudoku.setModoSolucionador(modo);
+        Random random = new Random(42);
+        tableros = new Tablero[TABLEROS];
+        for (int t = 0; t < TABLEROS; t++) {
+            sudoku.sudokuResuelto();
+            int[][] tablero = sudoku.getSolucion().aMatriz();
+            int size = tablero.length;
+            // Se vacían celdas al azar hasta dejar la cantidad de pistas pedida
+            int restantes = size * size;
+            while (restantes > pistas) {
+                int f = random.nextInt(size);
+                int c = random.nextInt(size);
+                if (tablero[f][c] != 0) {
+                    tablero[f][c] = 0;
+                    restantes--;
+                }
+            }
+            tableros[t] = Tablero.de(sudoku.getSolucion().getGeometria(), tablero);
+        }
+    }
+
+    @Benchmark
+    public int contarSoluciones() {
+        Tablero tablero = tableros[siguiente];
+        siguiente = (siguiente + 1) % TABLEROS;
+        return sudoku.contarSoluciones(tablero, 2);
+    }
+}
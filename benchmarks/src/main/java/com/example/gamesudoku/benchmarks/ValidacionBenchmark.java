@@ -0,0 +1,61 @@
+package com.example.gamesudoku.benchmarks;
+
+import com.example.gamesudoku.Model.JuegoSudoku;
+import com.example.gamesudoku.Model.Tablero;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide las operaciones que la vista hace por cada jugada: validar un movimiento y sugerir
+ * un número. Se recorren todas las celdas y números para no medir siempre el mismo caso.
+ *
+ * @author Jeferson Stiven Trullott Rivas
+ * @author Juan Carlos Fuentes
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ValidacionBenchmark {
+
+    private JuegoSudoku sudoku;
+    private Tablero tablero;
+    private int size;
+    private int paso;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        sudoku = new JuegoSudoku();
+        tablero = sudoku.generarNuevoTablero();
+        size = tablero.getGeometria().getSize();
+    }
+
+    @Benchmark
+    public boolean esMovimientoValido() {
+        int celda = paso % (size * size);
+        int num = paso / (size * size) % size + 1;
+        paso++;
+        return sudoku.esMovimientoValido(tablero, celda / size, celda % size, num);
+    }
+
+    @Benchmark
+    public Optional<Integer> sugerirNumero() {
+        int celda = paso++ % (size * size);
+        return sudoku.sugerirNumero(tablero, celda / size, celda % size);
+    }
+}
@@ -0,0 +1,254 @@
+package com.example.gamesudoku;
+
+import com.example.gamesudoku.Model.Geometria;
+import com.example.gamesudoku.Model.MotorSudoku;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Generador de carga para {@link ServidorSudoku}: varios clientes en lazo cerrado repiten
+ * una partida corta (nuevo juego, validar una jugada, pedir una pista y comprobar) y al
+ * final se imprime, por ruta, la latencia p50, p99 y máxima, junto con las peticiones por
+ * segundo y las rechazadas con 503.
+ * <p>
+ * Uso: {@code CargaServidor [--url U] [--clientes C] [--segundos S] [--hilos H] [--cola Q] [--tamanio N]}
+ * <p>
+ * Sin {@code --url} levanta un servidor propio en un puerto libre de localhost con los
+ * {@code --hilos} y la {@code --cola} indicados. Con más clientes que hilos más cola, las
+ * peticiones que sobran deben volver con 503 en lugar de esperar.
+ *
+ * @author Jeferson Stiven Trullott Rivas
+ * @author Juan Carlos Fuentes
+ * @version 1.0
+ */
+public class CargaServidor {
+
+    private static final String[] RUTAS = {"nuevo", "validar", "pista", "comprobar"};
+
+    /**
+     * Latencias guardadas como máximo por ruta y cliente; se descartan las que sobren.
+     */
+    private static final int MAX_MUESTRAS = 1 << 20;
+
+    public static void main(String[] args) throws Exception {
+        ServidorSudoku.desactivarNagle();
+        String url = null;
+        int clientes = 16;
+        int segundos = 10;
+        int hilos = Runtime.getRuntime().availableProcessors();
+        int cola = 64;
+        Geometria geometria = Geometria.G6X6;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--url": url = args[++i]; break;
+                case "--clientes": clientes = Integer.parseInt(args[++i]); break;
+                case "--segundos": segundos = Integer.parseInt(args[++i]); break;
+                case "--hilos": hilos = Integer.parseInt(args[++i]); break;
+                case "--cola": cola = Integer.parseInt(args[++i]); break;
+                case "--tamanio": geometria = Geometria.de(Integer.parseInt(args[++i])); break;
+                default: throw new IllegalArgumentException("Opción desconocida: " + args[i]);
+            }
+        }
+
+        ServidorSudoku servidor = null;
+        if (url == null) {
+            servidor = new ServidorSudoku(new MotorSudoku(geometria),
+                    new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), hilos, cola);
+            servidor.iniciar();
+            url = "http://localhost:" + servidor.getPuerto();
+        }
+        try {
+            medir(url, geometria, clientes, segundos);
+        } finally {
+            if (servidor != null) {
+                System.out.printf("Rechazadas por el servidor: %d%n", servidor.getRechazadas());
+                servidor.detener();
+            }
+        }
+    }
+
+    private static void medir(String url, Geometria geometria, int clientes, int segundos) throws InterruptedException {
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+        Medicion medicion = new Medicion();
+
+        // Calentamiento para que el JIT no cuente en las latencias
+        Cliente calentamiento = new Cliente(http, url, geometria, new Medicion());
+        long finCalentamiento = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (System.nanoTime() < finCalentamiento) {
+            calentamiento.partida();
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(clientes);
+        long inicio = System.nanoTime();
+        long fin = inicio + TimeUnit.SECONDS.toNanos(segundos);
+        Cliente[] lista = new Cliente[clientes];
+        for (int i = 0; i < clientes; i++) {
+            Cliente cliente = new Cliente(http, url, geometria, medicion);
+            lista[i] = cliente;
+            pool.execute(() -> {
+                while (System.nanoTime() < fin) {
+                    cliente.partida();
+                }
+            });
+        }
+        pool.shutdown();
+        if (!pool.awaitTermination(segundos + 30L, TimeUnit.SECONDS)) {
+            // Los clientes siguen escribiendo en sus arreglos; no se pueden leer
+            pool.shutdownNow();
+            throw new IllegalStateException("Los clientes no terminaron a tiempo");
+        }
+        double transcurrido = (System.nanoTime() - inicio) / 1e9;
+
+        System.out.printf("%d clientes contra %s durante %.1f s%n", clientes, url, transcurrido);
+        System.out.printf("%-10s %8s %10s %10s %10s%n", "ruta", "n", "p50 (ms)", "p99 (ms)", "max (ms)");
+        for (int r = 0; r < RUTAS.length; r++) {
+            int total = 0;
+            for (Cliente cliente : lista) {
+                total += cliente.cantidad[r];
+            }
+            long[] todas = new long[total];
+            int llenas = 0;
+            for (Cliente cliente : lista) {
+                System.arraycopy(cliente.latencias[r], 0, todas, llenas, cliente.cantidad[r]);
+                llenas += cliente.cantidad[r];
+            }
+            Arrays.sort(todas);
+            System.out.printf("%-10s %8d %10.3f %10.3f %10.3f%n", RUTAS[r], todas.length,
+                    percentil(todas, 0.50), percentil(todas, 0.99), percentil(todas, 1.0));
+        }
+        long exitosas = medicion.exitosas.sum();
+        System.out.printf("Exitosas: %d (%.0f peticiones/s), 503: %d, otros errores: %d%n",
+                exitosas, exitosas / transcurrido, medicion.ocupado.sum(), medicion.errores.sum());
+    }
+
+    private static double percentil(long[] ordenadas, double p) {
+        if (ordenadas.length == 0) {
+            return Double.NaN;
+        }
+        int indice = (int) Math.ceil(p * ordenadas.length) - 1;
+        return ordenadas[Math.max(indice, 0)] / 1e6;
+    }
+
+    /**
+     * Contadores compartidos por los clientes de una medición.
+     */
+    private static final class Medicion {
+        private final LongAdder exitosas = new LongAdder();
+        private final LongAdder ocupado = new LongAdder();
+        private final LongAdder errores = new LongAdder();
+    }
+
+    /**
+     * Un cliente en lazo cerrado: manda la siguiente petición solo al recibir la anterior.
+     * Guarda en arreglos propios las latencias de las respuestas 200.
+     */
+    private static final class Cliente {
+        private final HttpClient http;
+        private final String url;
+        private final Geometria geometria;
+        private final Medicion medicion;
+        private final long[][] latencias = new long[RUTAS.length][1024];
+        private final int[] cantidad = new int[RUTAS.length];
+
+        private Cliente(HttpClient http, String url, Geometria geometria, Medicion medicion) {
+            this.http = http;
+            this.url = url;
+            this.geometria = geometria;
+            this.medicion = medicion;
+        }
+
+        /**
+         * Juega una partida corta; si una petición se rechaza, la partida se abandona.
+         */
+        private void partida() {
+            String nuevo = pedir(0, "/nuevo");
+            if (nuevo == null) {
+                return;
+            }
+            int separador = nuevo.indexOf(';');
+            String id = nuevo.substring(0, separador);
+            char[] tablero = nuevo.substring(separador + 1).toCharArray();
+
+            // Una jugada al azar en una celda vacía
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int celda;
+            do {
+                celda = random.nextInt(tablero.length);
+            } while (tablero[celda] != '0');
+            int size = geometria.getSize();
+            int valor = 1 + random.nextInt(size);
+            String valida = pedir(1, "/validar?tablero=" + new String(tablero)
+                    + "&fila=" + celda / size + "&columna=" + celda % size + "&valor=" + valor);
+            if (valida == null) {
+                return;
+            }
+            if (valida.equals("1")) {
+                tablero[celda] = Character.forDigit(valor, Character.MAX_RADIX);
+            }
+
+            String pista = pedir(2, "/pista?id=" + id + "&tablero=" + new String(tablero));
+            if (pista == null) {
+                return;
+            }
+            pedir(3, "/comprobar?id=" + id + "&tablero=" + new String(tablero));
+        }
+
+        /**
+         * @return el cuerpo de la respuesta 200, o null si fue otra.
+         */
+        private String pedir(int ruta, String camino) {
+            HttpRequest peticion = HttpRequest.newBuilder(URI.create(url + camino)).GET().build();
+            long inicio = System.nanoTime();
+            HttpResponse<String> respuesta;
+            try {
+                respuesta = http.send(peticion, HttpResponse.BodyHandlers.ofString());
+            } catch (IOException e) {
+                medicion.errores.increment();
+                return null;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            long latencia = System.nanoTime() - inicio;
+            if (respuesta.statusCode() == 503) {
+                medicion.ocupado.increment();
+                return null;
+            }
+            if (respuesta.statusCode() != 200) {
+                medicion.errores.increment();
+                return null;
+            }
+            medicion.exitosas.increment();
+            registrar(ruta, latencia);
+            return respuesta.body();
+        }
+
+        private void registrar(int ruta, long latencia) {
+            long[] arreglo = latencias[ruta];
+            int n = cantidad[ruta];
+            if (n == arreglo.length) {
+                if (n == MAX_MUESTRAS) {
+                    return;
+                }
+                arreglo = Arrays.copyOf(arreglo, n * 2);
+                latencias[ruta] = arreglo;
+            }
+            arreglo[n] = latencia;
+            cantidad[ruta] = n + 1;
+        }
+    }
+}
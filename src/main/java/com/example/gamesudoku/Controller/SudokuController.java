@@ -1,19 +1,32 @@
 package com.example.gamesudoku.Controller;
 
-import com.example.gamesudoku.Model.JuegoSudoku;
+import com.example.gamesudoku.Model.BancoTableros;
+import com.example.gamesudoku.Model.EstadoTablero;
+import com.example.gamesudoku.Model.Geometria;
+import com.example.gamesudoku.Model.HistorialJugadas;
+import com.example.gamesudoku.Model.ModoSolucionador;
+import com.example.gamesudoku.Model.MotorSudoku;
+import com.example.gamesudoku.Model.Pista;
+import com.example.gamesudoku.Model.PoolTableros;
+import com.example.gamesudoku.Model.ResultadoGeneracion;
+import com.example.gamesudoku.Model.Simetria;
+import com.example.gamesudoku.Model.Tablero;
+import com.example.gamesudoku.Model.TableroGenerado;
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
-import javafx.scene.Node;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
 import javafx.scene.control.ButtonType;
-import javafx.scene.control.TextField;
 import javafx.scene.control.*;
 import javafx.scene.layout.GridPane;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Optional;
-import java.util.Random;
+import java.util.OptionalLong;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongConsumer;
 
 /**
  * Clase controladora para la interfaz de usuario del juego.
@@ -26,12 +39,8 @@ import java.util.Random;
  *
  */
 public class SudokuController {
-    private static final int SIZE = 6; //define el tamaño del tablero 6x6
-    //Estilos
-    private static final String ESTILO_DEFAULT = "";
-    private static final String ESTILO_ERROR = "-fx-background-color: red; -fx-text-fill: black; -fx-border-width: 1; -fx-border-color: #A9A9A9";
-    private static final String ESTILO_SUGERENCIA = "-fx-background-color: yellow; -fx-font-weight: bold; -fx-border-width: 1; -fx-border-color: #A9A9A9";
-    private static final String ESTILO_FIJO = "-fx-background-color: #E0E0E0; -fx-font-weight: bold; -fx-text-fill: #333333; -fx-border-width: 1; -fx-border-color: #A9A9A9";
+    private static final Geometria GEOMETRIA = Geometria.G6X6; //forma del tablero que muestra la vista
+    private static final int SIZE = GEOMETRIA.getSize(); //define el tamaño del tablero 6x6
 
     @FXML
     private Button botonAyuda;
@@ -42,6 +51,12 @@ public class SudokuController {
     @FXML
     private Button botonReiniciarJuego;
 
+    @FXML
+    private Button botonDeshacer;
+
+    @FXML
+    private Button botonRehacer;
+
     @FXML
     private GridPane gridTablero;
     /**
@@ -51,24 +66,91 @@ public class SudokuController {
     @FXML
     private Label labelMensaje;
 
-    private JuegoSudoku sudoku;
+    /**
+     * Motor compartido por toda la aplicación; es seguro entre hilos, así que lo usan a la
+     * vez la reserva en segundo plano y la vista. Usa el contador iterativo, que revisa las
+     * interrupciones también durante un conteo, así que detener la reserva o cancelar una
+     * espera corta la búsqueda en curso.
+     */
+    private static final MotorSudoku MOTOR = new MotorSudoku(GEOMETRIA, ModoSolucionador.ITERATIVO);
+
+    /**
+     * Reserva de juegos generados en segundo plano, compartida por toda la aplicación.
+     */
+    private static final PoolTableros POOL = new PoolTableros(MOTOR, 8, 1);
+
+    /**
+     * Tiempo máximo para generar un juego cuando la reserva está vacía; al vencer se juega el
+     * mejor tablero conseguido, que siempre tiene solución única.
+     */
+    private static final Duration PLAZO_JUEGO_NUEVO = Duration.ofMillis(250);
+
+    /**
+     * Banco de juegos pregenerados, si se indicó uno con la propiedad {@code sudoku.banco}.
+     */
+    private static final BancoTableros BANCO = abrirBanco(System.getProperty("sudoku.banco"));
+
+    /**
+     * Identificador (hexadecimal) de un juego a repetir, si se indicó con la propiedad
+     * {@code sudoku.juego}; se usa en la primera partida, por ejemplo para revisar un
+     * juego reportado.
+     */
+    private String juegoPedido = System.getProperty("sudoku.juego");
+
+    /**
+     * Abre el banco de juegos indicado, si existe y es de la misma geometría que la vista.
+     *
+     * @param ruta la ruta del archivo, o null si no se configuró.
+     * @return el banco abierto, o null si no hay banco utilizable.
+     */
+    private static BancoTableros abrirBanco(String ruta) {
+        if (ruta == null) {
+            return null;
+        }
+        try {
+            BancoTableros banco = BancoTableros.abrir(Path.of(ruta));
+            if (banco.getCantidad() > 0 && banco.getGeometria().getSize() == SIZE) {
+                return banco;
+            }
+            banco.close();
+        } catch (IOException e) {
+            System.err.println("No se pudo abrir el banco de tableros " + ruta + ": " + e.getMessage());
+        }
+        return null;
+    }
 
     private int ayudasUsadas = 0;
 
     private static final int MAX_AYUDAS = 5;
 
     /**
-     * Matriz que almacena la solución del juego del tablero actual.
+     * Estado incremental del tablero en juego: conteos por fila, columna y bloque, celdas en
+     * conflicto y celdas correctas. Es null mientras no hay juego cargado.
+     */
+    private EstadoTablero estado;
+
+    /**
+     * Jugadas de la partida en curso, para deshacer y rehacer. Es null mientras no hay juego cargado.
+     */
+    private HistorialJugadas historial;
+
+    /**
+     * Celdas del tablero indexadas, con su filtro de entrada y sus estilos.
+     */
+    private VistaTablero vista;
+
+    /**
+     * Transformación que se aplica a los juegos del banco antes de mostrarlos.
      */
-    private int[][] juegoResuelto;
-    private int[][] tableroActualJuego;
+    private final Simetria simetria = new Simetria(GEOMETRIA);
 
     /**
      * Inicializa la lógica del juego y configura el tablero visualmente.
      */
     @FXML
     public void initialize() {
-        sudoku = new JuegoSudoku();
+
+        vista = new VistaTablero(gridTablero, SIZE, this::celdaEditada, this::entradaRechazada);
 
         // Estado inicial: Tablero completamente vacío.
         limpiarTablero();
@@ -86,28 +168,30 @@ public class SudokuController {
         botonIniciarJuego.setDisable(false);
         botonReiniciarJuego.setDisable(true);
         botonAyuda.setDisable(true);
+        botonDeshacer.setDisable(true);
+        botonRehacer.setDisable(true);
+    }
+
+    /**
+     * Habilita deshacer y rehacer según lo que quede en el historial.
+     */
+    private void actualizarBotonesHistorial() {
+        botonDeshacer.setDisable(historial == null || !historial.puedeDeshacer());
+        botonRehacer.setDisable(historial == null || !historial.puedeRehacer());
     }
 
     // Limpia el tablero
     private void limpiarTablero() {
-        // Se utiliza una matriz vacía para establecer el estado del juego
-        tableroActualJuego = new int[SIZE][SIZE];
-
-        for (Node node : gridTablero.getChildren()) {
-            if (node instanceof TextField) {
-                TextField celda = (TextField) node;
-                // Limpiar texto y estilos
-                celda.setText("");
-                celda.setStyle(ESTILO_DEFAULT);
-                // Deshabilitar edición
-                celda.setEditable(false);
-            }
-        }
+        // Sin juego cargado no hay estado que actualizar
+        estado = null;
+        historial = null;
+        // Limpiar texto y estilos, y deshabilitar edición
+        vista.limpiar();
     }
 
     /**
      * Inicia un nuevo juego
-     * Genera un nuevo tablero resuelto, muestra una alerta de inicio
+     * Muestra una alerta de inicio, toma un juego de la reserva generada en segundo plano
      * y configura la interfaz de usuario con el tablero inicial.
      */
     @FXML
@@ -121,22 +205,150 @@ public class SudokuController {
         Optional<ButtonType> resultado = confirmacion.showAndWait();
 
         if (resultado.isPresent() && resultado.get() == ButtonType.OK) {
-            sudoku = new JuegoSudoku();
-            tableroActualJuego = sudoku.generarNuevoTablero(); // Genera tablero jugable con solución
-            juegoResuelto = sudoku.getJuegoResuelto(); // Guarda la solución correcta
+            // Repite el juego pedido, o toma uno ya generado del banco o de la reserva;
+            // si no hay, se espera sin bloquear la vista. Los juegos del banco se transforman
+            // al azar para que uno ya verificado sirva como muchos distintos
+            if (juegoPedido != null) {
+                OptionalLong id = leerId(juegoPedido);
+                juegoPedido = null;
+                if (id.isPresent()) {
+                    // Repetir es una generación completa; se hace fuera del hilo de la vista
+                    long pedido = id.getAsLong();
+                    esperarJuego(avance -> MOTOR.generar(pedido, null));
+                    return;
+                }
+            }
+            TableroGenerado juego;
+            if (BANCO != null) {
+                juego = BANCO.leer(ThreadLocalRandom.current().nextLong(BANCO.getCantidad()));
+                simetria.mezclar(ThreadLocalRandom.current());
+                juego = simetria.aplicar(juego);
+            } else {
+                juego = POOL.tomar();
+            }
+            if (juego != null) {
+                empezarJuego(juego);
+            } else {
+                esperarJuego(SudokuController::generarConPlazo);
+            }
+        }
+    }
 
-            configuracionTablero(tableroActualJuego);
+    /**
+     * Lee el identificador de un juego a repetir.
+     *
+     * @param idTexto el identificador en hexadecimal.
+     * @return el identificador, o vacío si no es válido.
+     */
+    private static OptionalLong leerId(String idTexto) {
+        try {
+            return OptionalLong.of(Long.parseUnsignedLong(idTexto.trim(), 16));
+        } catch (NumberFormatException e) {
+            System.err.println("Identificador de juego inválido: " + idTexto);
+            return OptionalLong.empty();
+        }
+    }
 
-            // Desactivar botón de Jugar y activar el de Reiniciar/Ayuda
-            botonIniciarJuego.setDisable(true);
-            botonReiniciarJuego.setDisable(false);
-            ayudasUsadas = 0;
-            botonAyuda.setDisable(false);
+    /**
+     * Genera un juego sin pasar de {@link #PLAZO_JUEGO_NUEVO}. Si el plazo venció antes de
+     * quitar ninguna pista, el resultado es el tablero resuelto, que ya estaría ganado; en ese
+     * caso se espera el siguiente juego de la reserva, que sigue generando en segundo plano.
+     *
+     * @param avance recibe los nodos de búsqueda visitados.
+     * @return un juego con al menos una celda vacía.
+     * @throws InterruptedException si se cancela la espera.
+     */
+    private static TableroGenerado generarConPlazo(LongConsumer avance) throws InterruptedException {
+        ResultadoGeneracion resultado = MOTOR.generar(null, PLAZO_JUEGO_NUEVO, avance);
+        TableroGenerado juego = resultado.getJuego();
+        if (resultado.isPlazoVencido() && juego.getTableroInicial().getLlenas() == GEOMETRIA.getCeldas()) {
+            return POOL.tomarEsperando();
+        }
+        return juego;
+    }
+
+    /**
+     * Generación que corre dentro de la tarea de espera.
+     */
+    private interface GeneracionEnEspera {
+        /**
+         * @param avance recibe los nodos de búsqueda visitados, si la generación los informa.
+         * @return el juego generado.
+         * @throws Exception si la generación falla o se cancela.
+         */
+        TableroGenerado generar(LongConsumer avance) throws Exception;
+    }
+
+    /**
+     * Genera un juego en segundo plano mostrando un indicador de progreso y los nodos de
+     * búsqueda que lleva, sin bloquear la vista: se usa al repetir un juego pedido y cuando la
+     * reserva está vacía, donde la generación tiene plazo y empezar nunca tarda más de
+     * {@link #PLAZO_JUEGO_NUEVO}.
+     *
+     * @param generar la generación a ejecutar fuera del hilo de la vista.
+     */
+    private void esperarJuego(GeneracionEnEspera generar) {
+        Task<TableroGenerado> tarea = new Task<>() {
+            @Override
+            protected TableroGenerado call() throws Exception {
+                // updateMessage se puede llamar desde el hilo que genera; JavaFX junta los avisos
+                return generar.generar(nodos -> updateMessage("Generando tablero... (" + nodos + " nodos)"));
+            }
+        };
+
+        botonIniciarJuego.setDisable(true);
+        if (labelMensaje != null) {
+            ProgressIndicator progreso = new ProgressIndicator();
+            progreso.setPrefSize(18, 18);
+            labelMensaje.setGraphic(progreso);
+            labelMensaje.setText("Generando tablero...");
+            tarea.messageProperty().addListener((observable, anterior, mensaje) -> labelMensaje.setText(mensaje));
+        }
 
+        tarea.setOnSucceeded(evento -> {
+            if (labelMensaje != null) {
+                labelMensaje.setGraphic(null);
+            }
+            empezarJuego(tarea.getValue());
+        });
+        tarea.setOnFailed(evento -> {
+            botonIniciarJuego.setDisable(false);
             if (labelMensaje != null) {
-                labelMensaje.setText("¡A jugar! Ingresa un número (1-6).");
+                labelMensaje.setGraphic(null);
+                labelMensaje.setText("No se pudo generar el tablero. Intenta de nuevo.");
             }
+        });
+
+        Thread hilo = new Thread(tarea, "espera-tablero");
+        hilo.setDaemon(true);
+        hilo.start();
+    }
+
+    /**
+     * Muestra un juego nuevo en el tablero y deja los botones listos para jugar.
+     *
+     * @param juego el tablero inicial junto con su solución.
+     */
+    private void empezarJuego(TableroGenerado juego) {
+        // El estado guarda la solución correcta junto con el tablero inicial
+        estado = new EstadoTablero(juego.getTableroInicial(), juego.getSolucion());
+        historial = new HistorialJugadas(juego.getTableroInicial());
 
+        configuracionTablero(juego.getTableroInicial());
+
+        // Desactivar botón de Jugar y activar el de Reiniciar/Ayuda
+        botonIniciarJuego.setDisable(true);
+        botonReiniciarJuego.setDisable(false);
+        ayudasUsadas = 0;
+        botonAyuda.setDisable(false);
+        actualizarBotonesHistorial();
+
+        if (labelMensaje != null) {
+            // El identificador permite repetir o reportar exactamente este juego
+            String id = juego.getId().isPresent()
+                    ? " Juego " + Long.toHexString(juego.getId().getAsLong()) + "."
+                    : "";
+            labelMensaje.setText("¡A jugar! Ingresa un número (1-" + SIZE + ")." + id);
         }
     }
 
@@ -173,12 +385,12 @@ public class SudokuController {
 
     /**
      * Genera una sugerencia a jugador de un número correcto.
-     * Busca una celda vacía para y coloca el número correcto,
-     * Solo deja pedir 5 ayudas.
+     * Corrige primero un número equivocado; si no hay, llena la celda forzada (o la de menos
+     * candidatos) y explica por qué va ese número. Solo deja pedir 5 ayudas.
      */
     @FXML
     private void pedirAyuda() {
-        if (juegoResuelto == null) {
+        if (estado == null) {
             if (labelMensaje != null)
                 labelMensaje.setText("No hay juego cargado. Presiona JUGAR primero.");
             return;
@@ -194,24 +406,9 @@ public class SudokuController {
             return;
         }
 
-        // --- Recolectar todas las celdas vacías y editables ---
-        List<TextField> celdasDisponibles = new ArrayList<>();
-
-        for (Node node : gridTablero.getChildren()) {
-            if (node instanceof TextField) {
-                TextField celda = (TextField) node;
-                Integer f = GridPane.getRowIndex(node);
-                Integer c = GridPane.getColumnIndex(celda);
-                int fila = (f != null) ? f : 0;
-                int columna = (c != null) ? c : 0;
-
-                if (celda.isEditable() && tableroActualJuego[fila][columna] == 0) {
-                    celdasDisponibles.add(celda);
-                }
-            }
-        }
-
-        if (celdasDisponibles.isEmpty()) {
+        // --- Pedir al estado la celda forzada o más restringida, con su explicación ---
+        Pista pista = estado.siguientePista();
+        if (pista == null) {
             if (labelMensaje != null) {
                 labelMensaje.setStyle("-fx-text-fill: green");
                 labelMensaje.setText("El tablero está lleno o no hay movimientos válidos para sugerir.");
@@ -219,27 +416,18 @@ public class SudokuController {
             return;
         }
 
-        // --- Escoger una celda aleatoria ---
-        Random random = new Random();
-        TextField celdaSeleccionada = celdasDisponibles.get(random.nextInt(celdasDisponibles.size()));
-
-        Integer f = GridPane.getRowIndex(celdaSeleccionada);
-        Integer c = GridPane.getColumnIndex(celdaSeleccionada);
-        int fila = (f != null) ? f : 0;
-        int columna = (c != null) ? c : 0;
-
         // --- Colocar el número correcto según la solución ---
-        int numSugerido = juegoResuelto[fila][columna];
-        celdaSeleccionada.setText(String.valueOf(numSugerido));
-        celdaSeleccionada.setStyle(ESTILO_SUGERENCIA);
-        celdaSeleccionada.setEditable(false);
+        int celdaSugerida = pista.getFila() * SIZE + pista.getColumna();
+        vista.mostrarPista(celdaSugerida, pista.getValor());
+        estado.colocar(celdaSugerida, pista.getValor(), this::actualizarEstilo);
+        historial.registrar(celdaSugerida, pista.getValor(), true);
+        actualizarBotonesHistorial();
 
-        tableroActualJuego[fila][columna] = numSugerido;
         ayudasUsadas++;
 
         if (labelMensaje != null) {
             labelMensaje.setStyle("-fx-text-fill: green");
-            labelMensaje.setText("💡 Pista #" + ayudasUsadas + " aplicada (máx " + MAX_AYUDAS + ").");
+            labelMensaje.setText("💡 Pista #" + ayudasUsadas + " (máx " + MAX_AYUDAS + "): " + pista.getDescripcion());
         }
 
         // Si llega al máximo, desactivar botón
@@ -250,6 +438,10 @@ public class SudokuController {
                 labelMensaje.setText("🚫 Límite de ayudas alcanzado. ¡Resuelve el resto tú!");
             }
         }
+
+        // La pista puede llenar o corregir la última celda; se revisa al final para que el
+        // mensaje de fin no lo tape el de la pista
+        revisarFin();
     }
 
     /**
@@ -261,126 +453,129 @@ public class SudokuController {
      * Configura el estado visual del GridPane en la interfaz.
      * Establece los números iniciales del juego y qué celdas están habilitadas para escribir
      *
-     * @param tableroDeInicio //Matriz que contiene los números iniciales.
+     * @param tableroDeInicio //Tablero que contiene los números iniciales.
      */
-    private void configuracionTablero(int[][] tableroDeInicio) {
-
+    private void configuracionTablero(Tablero tableroDeInicio) {
         juegoTerminado = false;
+        vista.cargar(tableroDeInicio);
+    }
 
-        for (Node node : gridTablero.getChildren()) {
-            if (node instanceof TextField) {
-                TextField celda = (TextField) node;
-
-                Integer f = GridPane.getRowIndex(node);
-                Integer c = GridPane.getColumnIndex(celda);
-
-                int fila = (f != null) ? f : 0;
-                int columna = (c != null) ? c : 0;
-
-                int valor = tableroDeInicio[fila][columna];
-
-                // Limpiar estilos antes de reasignar
-                celda.setStyle(ESTILO_DEFAULT);
-
-                if (valor != 0) {
-                    celda.setText(String.valueOf(valor));
-                    celda.setEditable(false);
-                    celda.setStyle(ESTILO_FIJO);
-                } else {
-                    celda.setText("");
-                    celda.setEditable(true);
-
-                    // Añadir el Change Listener para la validación en tiempo real
-                    if (celda.getProperties().get("listenerAgregado") == null) {
-
-                        celda.textProperty().addListener((observable, oldValue, newValue) -> {
-                            // Restricción de entrada (solo 1-6 o vacío)
-                            if (!newValue.matches("[1-6]?")) {
-                                celda.setText(oldValue);
-                                if (labelMensaje != null) {
-                                    labelMensaje.setStyle("-fx-text-fill: red");
-                                    labelMensaje.setText("❌ Error: Solo se permiten números del 1 al 6.");
-                                }
-                                return;
-                            }
-
-                            // Actualizar el estado del modelo local
-                            int numIngresado = newValue.isEmpty() ? 0 : Integer.parseInt(newValue);
-                            tableroActualJuego[fila][columna] = numIngresado;
-
-                            if (numIngresado != 0) {
-                                // Llamar a la validación de reglas del Sudoku
-                                if (!sudoku.esMovimientoValido(tableroActualJuego, fila, columna, numIngresado)) {
-                                    celda.setStyle(ESTILO_ERROR);
-                                    if (labelMensaje != null) {
-                                        labelMensaje.setStyle("-fx-text-fill: red");
-                                        labelMensaje.setText("❌ Error: El número " + numIngresado + " está repetido.");
-                                    }
-                                } else {
-                                    celda.setStyle(ESTILO_DEFAULT);
-                                    if (labelMensaje != null) {
-                                        labelMensaje.setStyle("-fx-text-fill: green");
-                                        labelMensaje.setText("✅ Número válido. ¡Sigue así!");
-                                    }
-
-                                    // Verificar si el juego terminó (solo una vez)
-                                    if (!juegoTerminado && verificarJuego()) {
-                                        juegoTerminado = true;
-                                        Alert finJuego = new Alert(Alert.AlertType.INFORMATION);
-                                        finJuego.setTitle("¡Juego Terminado!");
-                                        finJuego.setHeaderText(null);
-                                        finJuego.setContentText("🎉 ¡Felicidades! Has resuelto el Sudoku correctamente.");
-                                        finJuego.showAndWait();
-                                        if (labelMensaje != null) {
-                                            labelMensaje.setText("🎉 ¡Sudoku Resuelto!");
-                                        }
-                                    }
-                                }
-                            } else {
-                                // El campo se vació (borrado)
-                                celda.setStyle(ESTILO_DEFAULT);
-                                if (labelMensaje != null) {
-                                    labelMensaje.setText("Sigue jugando...");
-                                }
-                            }
-                        });
-
-                        // 🔹 Marcar que ya se agregó el listener
-                        celda.getProperties().put("listenerAgregado", true);
-                    }
+    /**
+     * Valida en tiempo real el número que el jugador escribió en una celda.
+     * Actualiza el estado incremental, repinta las celdas que cambian de conflicto y
+     * detecta si el juego terminó.
+     *
+     * @param celda el índice plano de la celda editada.
+     * @param numIngresado el número escrito, o 0 si se borró.
+     */
+    private void celdaEditada(int celda, int numIngresado) {
+        if (estado == null) {
+            return;
+        }
+        estado.colocar(celda, numIngresado, this::actualizarEstilo);
+        historial.registrar(celda, numIngresado, false);
+        actualizarBotonesHistorial();
+
+        if (numIngresado != 0) {
+            if (estado.esConflicto(celda)) {
+                if (labelMensaje != null) {
+                    labelMensaje.setStyle("-fx-text-fill: red");
+                    labelMensaje.setText("❌ Error: El número " + numIngresado + " está repetido.");
+                }
+            } else {
+                if (labelMensaje != null) {
+                    labelMensaje.setStyle("-fx-text-fill: green");
+                    labelMensaje.setText("✅ Número válido. ¡Sigue así!");
                 }
+
+                revisarFin();
+            }
+        } else {
+            // El campo se vació (borrado)
+            if (labelMensaje != null) {
+                labelMensaje.setText("Sigue jugando...");
+            }
+        }
+    }
+
+    /**
+     * Verifica si el juego terminó y lo anuncia (solo una vez).
+     */
+    private void revisarFin() {
+        if (!juegoTerminado && estado.estaResuelto()) {
+            juegoTerminado = true;
+            Alert finJuego = new Alert(Alert.AlertType.INFORMATION);
+            finJuego.setTitle("¡Juego Terminado!");
+            finJuego.setHeaderText(null);
+            finJuego.setContentText("🎉 ¡Felicidades! Has resuelto el Sudoku correctamente.");
+            finJuego.showAndWait();
+            if (labelMensaje != null) {
+                labelMensaje.setText("🎉 ¡Sudoku Resuelto!");
             }
         }
     }
 
+    /**
+     * Deshace la última jugada, sea del jugador o una ayuda. Deshacer una ayuda vacía o
+     * restaura la celda y la deja editable, pero no devuelve la ayuda gastada.
+     */
+    @FXML
+    private void deshacerJugada() {
+        if (historial == null || !historial.puedeDeshacer()) {
+            return;
+        }
+        int jugada = historial.deshacer();
+        aplicarJugada(HistorialJugadas.celdaDe(jugada), HistorialJugadas.anteriorDe(jugada), false);
+        if (labelMensaje != null) {
+            labelMensaje.setStyle("-fx-text-fill: black");
+            labelMensaje.setText("↶ Jugada deshecha (" + historial.getActual() + " de " + historial.getTotal() + ").");
+        }
+    }
 
+    /**
+     * Vuelve a aplicar la última jugada deshecha.
+     */
+    @FXML
+    private void rehacerJugada() {
+        if (historial == null || !historial.puedeRehacer()) {
+            return;
+        }
+        int jugada = historial.rehacer();
+        aplicarJugada(HistorialJugadas.celdaDe(jugada), HistorialJugadas.nuevoDe(jugada),
+                HistorialJugadas.esPista(jugada));
+        if (labelMensaje != null) {
+            labelMensaje.setStyle("-fx-text-fill: black");
+            labelMensaje.setText("↷ Jugada rehecha (" + historial.getActual() + " de " + historial.getTotal() + ").");
+        }
+        revisarFin();
+    }
 
     /**
-     * Verifica si el estado actual del tablero coincide con la solución.
-     *
-     * @return boolean true si el tablero está completo y los numero coinciden con la solución, false en caso contrario
+     * Pone un número del historial en la vista y en el estado, sin volver a registrarlo:
+     * la vista no avisa al oyente cuando escribe desde el código.
      */
-    private boolean verificarJuego() {
-        for (Node node : gridTablero.getChildren()) {
-            if (node instanceof TextField) {
-                TextField celda = (TextField) node;
-                Integer f = GridPane.getRowIndex(node);
-                Integer c = GridPane.getColumnIndex(node);
-
-                int fila = (f != null ? f : 0);
-                int columna = (c != null ? c : 0);
-
-                String text = celda.getText();
-                // erifica que no esté vacío
-                if (text.isEmpty()) {
-                    return false;
-                }
-                // Verifica que sea la solución final correcta (coincida con juegoResuelto)
-                if (Integer.parseInt(text) != juegoResuelto[fila][columna]) {
-                    return false;
-                }
-            }
+    private void aplicarJugada(int celda, int valor, boolean pista) {
+        vista.escribir(celda, valor, pista);
+        estado.colocar(celda, valor, this::actualizarEstilo);
+        actualizarBotonesHistorial();
+    }
+
+    /**
+     * Avisa que la entrada fue rechazada (solo se permiten números del 1 al tamaño o vacío).
+     */
+    private void entradaRechazada() {
+        if (labelMensaje != null) {
+            labelMensaje.setStyle("-fx-text-fill: red");
+            labelMensaje.setText("❌ Error: Solo se permiten números del 1 al " + SIZE + ".");
         }
-        return true;
+    }
+
+    /**
+     * Marca o desmarca una celda como en conflicto según el estado del juego.
+     *
+     * @param celda el índice plano de la celda.
+     */
+    private void actualizarEstilo(int celda) {
+        vista.marcarError(celda, estado.esConflicto(celda));
     }
 }
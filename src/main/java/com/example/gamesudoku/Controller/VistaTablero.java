@@ -0,0 +1,206 @@
+package com.example.gamesudoku.Controller;
+
+import com.example.gamesudoku.Model.Tablero;
+import javafx.css.PseudoClass;
+import javafx.scene.Node;
+import javafx.scene.control.TextField;
+import javafx.scene.control.TextFormatter;
+import javafx.scene.layout.GridPane;
+
+/**
+ * Capa de dibujo del tablero.
+ * Guarda las celdas del GridPane en un arreglo por índice plano {@code fila * size + columna},
+ * filtra la entrada con un {@link TextFormatter} y pinta los estados de cada celda con
+ * pseudo clases de la hoja de estilos ({@code :fija}, {@code :error} y {@code :pista}), así
+ * cada cambio toca una sola celda y JavaFX no vuelve a interpretar estilos en línea.
+ *
+ * @author Jeferson Stiven Trullott Rivas
+ * @author Juan Carlos Fuentes
+ * @version 1.0
+ */
+public class VistaTablero {
+
+    private static final PseudoClass FIJA = PseudoClass.getPseudoClass("fija");
+    private static final PseudoClass ERROR = PseudoClass.getPseudoClass("error");
+    private static final PseudoClass PISTA = PseudoClass.getPseudoClass("pista");
+
+    /**
+     * Recibe las ediciones que hace el jugador en una celda.
+     */
+    public interface OyenteCelda {
+        /**
+         * @param celda el índice plano de la celda editada.
+         * @param valor el número escrito, o 0 si la celda quedó vacía.
+         */
+        void celdaEditada(int celda, int valor);
+    }
+
+    private final int size;
+    private final TextField[] campos;
+    private final OyenteCelda oyente;
+
+    /**
+     * Indica que el tablero se está escribiendo desde el código, para no avisar al oyente.
+     */
+    private boolean escribiendo = false;
+
+    /**
+     * Indexa las celdas del GridPane e instala el filtro de entrada y el oyente de cada una.
+     *
+     * @param grid el GridPane con un TextField por celda.
+     * @param size el tamaño del tablero.
+     * @param oyente recibe cada edición válida del jugador.
+     * @param entradaRechazada se ejecuta cuando el jugador escribe algo que no es un número válido.
+     */
+    public VistaTablero(GridPane grid, int size, OyenteCelda oyente, Runnable entradaRechazada) {
+        this.size = size;
+        this.campos = new TextField[size * size];
+        this.oyente = oyente;
+
+        for (Node node : grid.getChildren()) {
+            if (node instanceof TextField) {
+                Integer f = GridPane.getRowIndex(node);
+                Integer c = GridPane.getColumnIndex(node);
+                campos[(f != null ? f : 0) * size + (c != null ? c : 0)] = (TextField) node;
+            }
+        }
+
+        for (int celda = 0; celda < campos.length; celda++) {
+            TextField campo = campos[celda];
+            int indice = celda;
+            // Los colores salen de la hoja de estilos; el estilo en línea del FXML se descarta
+            campo.setStyle("");
+            campo.getStyleClass().add("celda");
+            campo.setTextFormatter(new TextFormatter<String>(cambio -> {
+                if (esEntradaValida(cambio.getControlNewText())) {
+                    return cambio;
+                }
+                entradaRechazada.run();
+                return null;
+            }));
+            campo.textProperty().addListener((observable, anterior, nuevo) -> {
+                if (!escribiendo) {
+                    oyente.celdaEditada(indice, valorDe(nuevo));
+                }
+            });
+        }
+    }
+
+    /**
+     * Vacía todas las celdas, les quita los estados y las deja sin edición.
+     */
+    public void limpiar() {
+        escribiendo = true;
+        for (TextField campo : campos) {
+            campo.setText("");
+            campo.setEditable(false);
+            campo.pseudoClassStateChanged(FIJA, false);
+            campo.pseudoClassStateChanged(ERROR, false);
+            campo.pseudoClassStateChanged(PISTA, false);
+        }
+        escribiendo = false;
+    }
+
+    /**
+     * Muestra un tablero inicial: las pistas quedan fijas y el resto vacío y editable.
+     *
+     * @param inicial el tablero inicial, con 0 en las celdas vacías.
+     */
+    public void cargar(Tablero inicial) {
+        escribiendo = true;
+        for (int celda = 0; celda < campos.length; celda++) {
+            TextField campo = campos[celda];
+            int valor = inicial.get(celda);
+            campo.setText(valor != 0 ? String.valueOf(valor) : "");
+            campo.setEditable(valor == 0);
+            campo.pseudoClassStateChanged(FIJA, valor != 0);
+            campo.pseudoClassStateChanged(ERROR, false);
+            campo.pseudoClassStateChanged(PISTA, false);
+        }
+        escribiendo = false;
+    }
+
+    /**
+     * Escribe en una celda el número de una ayuda y la bloquea.
+     *
+     * @param celda el índice plano de la celda.
+     * @param valor el número sugerido.
+     */
+    public void mostrarPista(int celda, int valor) {
+        TextField campo = campos[celda];
+        escribiendo = true;
+        campo.setText(String.valueOf(valor));
+        escribiendo = false;
+        campo.setEditable(false);
+        campo.pseudoClassStateChanged(PISTA, true);
+    }
+
+    /**
+     * Escribe un número al deshacer o rehacer una jugada, sin avisar al oyente.
+     * Una ayuda queda bloqueada y marcada como pista; lo demás queda editable.
+     *
+     * @param celda el índice plano de la celda.
+     * @param valor el número a mostrar, o 0 para vaciarla.
+     * @param pista true si el número es una ayuda.
+     */
+    public void escribir(int celda, int valor, boolean pista) {
+        if (pista) {
+            mostrarPista(celda, valor);
+            return;
+        }
+        TextField campo = campos[celda];
+        escribiendo = true;
+        campo.setText(valor != 0 ? String.valueOf(valor) : "");
+        escribiendo = false;
+        campo.setEditable(true);
+        campo.pseudoClassStateChanged(PISTA, false);
+    }
+
+    /**
+     * @param celda el índice plano de la celda.
+     * @param error true si la celda debe verse en conflicto.
+     */
+    public void marcarError(int celda, boolean error) {
+        campos[celda].pseudoClassStateChanged(ERROR, error);
+    }
+
+    /**
+     * @param celda el índice plano de la celda.
+     * @return true si el jugador puede escribir en la celda.
+     */
+    public boolean esEditable(int celda) {
+        return campos[celda].isEditable();
+    }
+
+    /**
+     * Verifica que el texto de una celda esté vacío o sea un número entre 1 y el tamaño del tablero.
+     *
+     * @param texto el texto que quedaría en la celda.
+     * @return true si la entrada es aceptable.
+     */
+    private boolean esEntradaValida(String texto) {
+        if (texto.isEmpty()) {
+            return true;
+        }
+        if (texto.length() > 2 || texto.charAt(0) == '0') {
+            return false;
+        }
+        int valor = 0;
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+            valor = valor * 10 + (c - '0');
+        }
+        return valor <= size;
+    }
+
+    private static int valorDe(String texto) {
+        int valor = 0;
+        for (int i = 0; i < texto.length(); i++) {
+            valor = valor * 10 + (texto.charAt(i) - '0');
+        }
+        return valor;
+    }
+}
@@ -0,0 +1,280 @@
+package com.example.gamesudoku;
+
+import com.example.gamesudoku.Model.BancoTableros;
+import com.example.gamesudoku.Model.ConjuntoHuellas;
+import com.example.gamesudoku.Model.EstadisticasMotor;
+import com.example.gamesudoku.Model.FormaCanonica;
+import com.example.gamesudoku.Model.FormatoTablero;
+import com.example.gamesudoku.Model.Geometria;
+import com.example.gamesudoku.Model.JuegoSudoku;
+import com.example.gamesudoku.Model.Tablero;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Punto de entrada sin interfaz gráfica que genera lotes de tableros con solución única
+ * usando todos los núcleos. Cada hilo del {@link ForkJoinPool} tiene su propio
+ * {@link JuegoSudoku} y su propio flujo aleatorio, así los hilos no comparten estado.
+ * <p>
+ * Uso: {@code GeneradorLotes <cantidad> <archivo> [--tamanio N] [--hilos H] [--semilla S] [--binario] [--unicos] [--escalado]}
+ * <p>
+ * Cada línea del archivo tiene el tablero inicial y su solución en texto compacto
+ * ({@link FormatoTablero}), separados por ';'. Con {@code --binario} se escribe en cambio un
+ * {@link BancoTableros} que el juego puede abrir con memoria mapeada. Con {@code --escalado} no se escribe nada y
+ * se mide cuántos tableros por segundo se generan con 1, 2, 4... hilos. Con {@code --unicos} se descartan
+ * los juegos que sean otro ya generado disfrazado con una simetría, comparando la huella de su
+ * {@link FormaCanonica} en un {@link ConjuntoHuellas} fuera del heap.
+ *
+ * @author Jeferson Stiven Trullott Rivas
+ * @author Juan Carlos Fuentes
+ * @version 1.0
+ */
+public class GeneradorLotes {
+
+    /**
+     * Tableros que genera cada tarea hoja antes de escribirlos de una vez en el archivo.
+     */
+    private static final int TAMANIO_BLOQUE = 256;
+
+    /**
+     * Repetidos seguidos tras los cuales se asume que ya no quedan juegos distintos (el 4x4
+     * tiene pocos).
+     */
+    private static final int MAX_REPETIDOS_SEGUIDOS = 10_000;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Uso: GeneradorLotes <cantidad> <archivo> [--tamanio N] [--hilos H] [--semilla S] [--binario] [--unicos] [--escalado]");
+            System.exit(1);
+        }
+        long cantidad = Long.parseLong(args[0]);
+        Path archivo = Path.of(args[1]);
+        Geometria geometria = Geometria.G6X6;
+        int hilos = Runtime.getRuntime().availableProcessors();
+        long semilla = System.nanoTime();
+        boolean escalado = false;
+        boolean binario = false;
+        boolean unicos = false;
+        for (int i = 2; i < args.length; i++) {
+            switch (args[i]) {
+                case "--tamanio": geometria = Geometria.de(Integer.parseInt(args[++i])); break;
+                case "--hilos": hilos = Integer.parseInt(args[++i]); break;
+                case "--semilla": semilla = Long.parseLong(args[++i]); break;
+                case "--binario": binario = true; break;
+                case "--unicos": unicos = true; break;
+                case "--escalado": escalado = true; break;
+                default: throw new IllegalArgumentException("Opción desconocida: " + args[i]);
+            }
+        }
+
+        if (escalado) {
+            medirEscalado(geometria, cantidad, hilos, semilla);
+            return;
+        }
+
+        ConjuntoHuellas huellas = unicos ? new ConjuntoHuellas(cantidad) : null;
+        double porSegundo;
+        if (binario) {
+            try (BancoTableros.Escritor banco = new BancoTableros.Escritor(archivo, geometria)) {
+                porSegundo = generar(geometria, cantidad, hilos, semilla, null, banco, huellas);
+            }
+        } else {
+            try (Writer salida = Files.newBufferedWriter(archivo, StandardCharsets.US_ASCII)) {
+                porSegundo = generar(geometria, cantidad, hilos, semilla, salida, null, huellas);
+            }
+        }
+        System.out.printf("%d tableros %s en %s con %d hilos: %.0f tableros/s%n",
+                cantidad, geometria, archivo, hilos, porSegundo);
+        if (huellas != null) {
+            System.out.printf("Huellas: %d distintas en %d MB fuera del heap%n",
+                    huellas.getCantidad(), huellas.getBytes() >> 20);
+        }
+        System.out.println(EstadisticasMotor.resumen());
+    }
+
+    /**
+     * Genera la misma cantidad de tableros con 1, 2, 4... hasta {@code maxHilos} hilos
+     * e imprime el rendimiento de cada corrida.
+     */
+    private static void medirEscalado(Geometria geometria, long cantidad, int maxHilos, long semilla) {
+        // Corrida de calentamiento para que el JIT no cuente en la primera medición
+        generar(geometria, Math.min(cantidad, 2000), maxHilos, semilla, null, null, null);
+        double base = 0;
+        for (int hilos = 1; ; hilos = Math.min(hilos * 2, maxHilos)) {
+            double porSegundo = generar(geometria, cantidad, hilos, semilla, null, null, null);
+            if (hilos == 1) {
+                base = porSegundo;
+            }
+            System.out.printf("%3d hilos: %10.0f tableros/s  (x%.2f)%n", hilos, porSegundo, porSegundo / base);
+            if (hilos == maxHilos) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Genera tableros en paralelo.
+     *
+     * @param geometria la forma de los tableros.
+     * @param cantidad cuántos tableros generar.
+     * @param hilos paralelismo del pool.
+     * @param semilla semilla del flujo aleatorio raíz, del que se deriva uno por hilo.
+     * @param salida donde se escriben los tableros en texto, o null.
+     * @param banco donde se escriben los tableros en binario, o null.
+     * @param huellas huellas de los juegos ya aceptados para descartar repetidos, o null para no descartar.
+     * @return tableros generados por segundo.
+     */
+    public static double generar(Geometria geometria, long cantidad, int hilos, long semilla,
+                                 Writer salida, BancoTableros.Escritor banco, ConjuntoHuellas huellas) {
+        Ejecucion ejecucion = new Ejecucion(geometria, semilla, salida, banco, huellas);
+        ForkJoinPool pool = new ForkJoinPool(hilos);
+        long inicio = System.nanoTime();
+        try {
+            pool.invoke(new Lote(ejecucion, 0, cantidad));
+        } finally {
+            pool.shutdown();
+        }
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        if (huellas != null) {
+            System.out.printf("Repetidos descartados: %d%n", ejecucion.repetidos.sum());
+        }
+        return cantidad / segundos;
+    }
+
+    /**
+     * Estado compartido por las tareas de una corrida.
+     */
+    private static final class Ejecucion {
+        private final Geometria geometria;
+        private final SplittableRandom raiz;
+        private final Writer salida;
+        private final BancoTableros.Escritor banco;
+        private final ConjuntoHuellas huellas;
+        private final LongAdder repetidos = new LongAdder();
+
+        /**
+         * Un motor y un calculador de formas canónicas por hilo; cada motor con un flujo
+         * aleatorio separado del raíz.
+         */
+        private final ThreadLocal<JuegoSudoku> motores;
+        private final ThreadLocal<FormaCanonica> formas;
+
+        private Ejecucion(Geometria geometria, long semilla, Writer salida, BancoTableros.Escritor banco,
+                          ConjuntoHuellas huellas) {
+            if (huellas != null && !FormaCanonica.soporta(geometria)) {
+                throw new IllegalArgumentException("--unicos no está disponible para " + geometria);
+            }
+            this.geometria = geometria;
+            this.raiz = new SplittableRandom(semilla);
+            this.salida = salida;
+            this.banco = banco;
+            this.huellas = huellas;
+            this.motores = ThreadLocal.withInitial(() -> new JuegoSudoku(geometria, nuevoFlujo()));
+            this.formas = ThreadLocal.withInitial(() -> new FormaCanonica(geometria));
+        }
+
+        /**
+         * Genera el siguiente tablero; si se descartan repetidos, genera hasta encontrar uno
+         * cuya forma canónica no se haya visto.
+         */
+        private Tablero siguiente(JuegoSudoku motor) {
+            if (huellas == null) {
+                return motor.generarNuevoTablero();
+            }
+            FormaCanonica forma = formas.get();
+            for (int intento = 0; intento < MAX_REPETIDOS_SEGUIDOS; intento++) {
+                Tablero inicial = motor.generarNuevoTablero();
+                if (huellas.agregar(forma.huella(inicial))) {
+                    return inicial;
+                }
+                repetidos.increment();
+            }
+            throw new IllegalStateException("No quedan juegos distintos para " + geometria);
+        }
+
+        private synchronized SplittableRandom nuevoFlujo() {
+            return raiz.split();
+        }
+
+        private void escribir(CharSequence texto) {
+            try {
+                synchronized (salida) {
+                    salida.append(texto);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void escribir(byte[] registros, int cuantos) {
+            try {
+                banco.agregarCodificados(registros, cuantos);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Tarea que divide el rango de tableros a la mitad hasta llegar a bloques pequeños.
+     */
+    private static final class Lote extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Ejecucion ejecucion;
+        private final long desde;
+        private final long hasta;
+
+        private Lote(Ejecucion ejecucion, long desde, long hasta) {
+            this.ejecucion = ejecucion;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        @Override
+        protected void compute() {
+            if (hasta - desde > TAMANIO_BLOQUE) {
+                long mitad = (desde + hasta) >>> 1;
+                invokeAll(new Lote(ejecucion, desde, mitad), new Lote(ejecucion, mitad, hasta));
+                return;
+            }
+            JuegoSudoku motor = ejecucion.motores.get();
+            Geometria geometria = ejecucion.geometria;
+            int cuantos = (int) (hasta - desde);
+
+            if (ejecucion.banco != null) {
+                int bytes = BancoTableros.bytesPorRegistro(geometria);
+                byte[] registros = new byte[cuantos * bytes];
+                for (int i = 0; i < cuantos; i++) {
+                    Tablero inicial = ejecucion.siguiente(motor);
+                    BancoTableros.codificar(inicial, motor.getSolucion(), registros, i * bytes);
+                }
+                ejecucion.escribir(registros, cuantos);
+                return;
+            }
+
+            StringBuilder texto = new StringBuilder(cuantos * (2 * geometria.getCeldas() + 2));
+            for (int i = 0; i < cuantos; i++) {
+                Tablero inicial = ejecucion.siguiente(motor);
+                if (ejecucion.salida != null) {
+                    FormatoTablero.escribir(inicial, texto);
+                    texto.append(';');
+                    FormatoTablero.escribir(motor.getSolucion(), texto);
+                    texto.append('\n');
+                }
+            }
+            if (ejecucion.salida != null) {
+                ejecucion.escribir(texto);
+            }
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package com.example.gamesudoku.Model;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Banco de juegos en un archivo binario compacto, leído con memoria mapeada.
+ * <p>
+ * Cada juego ocupa un registro de tamaño fijo: la solución empaquetada con los bits justos
+ * por celda (3 bits en el 6x6, guardando valor - 1) seguida de una máscara de un bit por
+ * celda que indica qué celdas son pistas. Un juego 6x6 ocupa 19 bytes. Como los registros
+ * tienen tamaño fijo, el juego número k se lee directamente del archivo mapeado, sin
+ * copiar el archivo ni interpretar texto.
+ * <p>
+ * Cabecera (32 bytes, little endian): número mágico, versión, tamaño, filas y columnas del
+ * sub bloque, bits por celda, bytes por registro y cantidad de juegos.
+ *
+ * @author Jeferson Stiven Trullott Rivas
+ * @author Juan Carlos Fuentes
+ * @version 1.0
+ */
+public class BancoTableros implements Closeable {
+
+    private static final int MAGICO = 0x424B4453; // "SDKB"
+    private static final short VERSION = 1;
+    private static final int CABECERA = 32;
+
+    /**
+     * Tamaño máximo de cada segmento mapeado; un MappedByteBuffer no pasa de 2 GB.
+     */
+    private static final int MAX_SEGMENTO = 1 << 30;
+
+    private final FileChannel canal;
+    private final Geometria geometria;
+    private final int bitsPorCelda;
+    private final int bytesPorRegistro;
+    private final long cantidad;
+    private final int registrosPorSegmento;
+    private final MappedByteBuffer[] segmentos;
+
+    private BancoTableros(FileChannel canal) throws IOException {
+        this.canal = canal;
+        ByteBuffer cabecera = ByteBuffer.allocate(CABECERA).order(ByteOrder.LITTLE_ENDIAN);
+        canal.read(cabecera, 0);
+        cabecera.flip();
+        if (cabecera.remaining() < CABECERA || cabecera.getInt() != MAGICO) {
+            throw new IOException("El archivo no es un banco de tableros");
+        }
+        if (cabecera.getShort() != VERSION) {
+            throw new IOException("Versión de banco de tableros no soportada");
+        }
+        int size = cabecera.get();
+        int subFila = cabecera.get();
+        int subColumna = cabecera.get();
+        this.geometria = Geometria.de(subFila, subColumna);
+        if (geometria.getSize() != size) {
+            throw new IOException("Cabecera de banco inconsistente");
+        }
+        this.bitsPorCelda = cabecera.get();
+        this.bytesPorRegistro = cabecera.getInt();
+        this.cantidad = cabecera.getLong();
+
+        registrosPorSegmento = MAX_SEGMENTO / bytesPorRegistro;
+        int numSegmentos = (int) ((cantidad + registrosPorSegmento - 1) / registrosPorSegmento);
+        segmentos = new MappedByteBuffer[numSegmentos];
+        for (int i = 0; i < numSegmentos; i++) {
+            long primero = (long) i * registrosPorSegmento;
+            long registros = Math.min(registrosPorSegmento, cantidad - primero);
+            segmentos[i] = canal.map(FileChannel.MapMode.READ_ONLY,
+                    CABECERA + primero * bytesPorRegistro, registros * bytesPorRegistro);
+        }
+    }
+
+    /**
+     * Abre un banco existente para lectura.
+     *
+     * @param archivo la ruta del banco.
+     * @return el banco abierto, con el archivo mapeado en memoria.
+     * @throws IOException si no se puede leer o no tiene el formato esperado.
+     */
+    public static BancoTableros abrir(Path archivo) throws IOException {
+        FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ);
+        try {
+            return new BancoTableros(canal);
+        } catch (IOException | RuntimeException e) {
+            canal.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return el número de juegos del banco.
+     */
+    public long getCantidad() {
+        return cantidad;
+    }
+
+    /**
+     * @return la geometría de los tableros del banco.
+     */
+    public Geometria getGeometria() {
+        return geometria;
+    }
+
+    /**
+     * Lee el juego número k en arreglos nuevos.
+     *
+     * @param k el índice del juego, de 0 a {@code getCantidad() - 1}.
+     * @return el tablero inicial y su solución.
+     */
+    public TableroGenerado leer(long k) {
+        int size = geometria.getSize();
+        int[][] inicial = new int[size][size];
+        int[][] solucion = new int[size][size];
+        leer(k, inicial, solucion);
+        return new TableroGenerado(Tablero.de(geometria, inicial), Tablero.de(geometria, solucion));
+    }
+
+    /**
+     * Lee el juego número k en arreglos del llamador, sin crear objetos.
+     *
+     * @param k el índice del juego.
+     * @param inicial donde se escribe el tablero inicial.
+     * @param solucion donde se escribe la solución.
+     */
+    public void leer(long k, int[][] inicial, int[][] solucion) {
+        if (k < 0 || k >= cantidad) {
+            throw new IndexOutOfBoundsException("Juego " + k + " fuera del banco de " + cantidad);
+        }
+        MappedByteBuffer segmento = segmentos[(int) (k / registrosPorSegmento)];
+        int base = (int) (k % registrosPorSegmento) * bytesPorRegistro;
+        int celdas = geometria.getCeldas();
+        int size = geometria.getSize();
+        int mascaraCelda = (1 << bitsPorCelda) - 1;
+        int inicioMascara = base + (celdas * bitsPorCelda + 7) / 8;
+
+        for (int celda = 0; celda < celdas; celda++) {
+            int valor = (leerBits(segmento, base, celda * bitsPorCelda, bitsPorCelda) & mascaraCelda) + 1;
+            boolean esPista = (segmento.get(inicioMascara + (celda >>> 3)) & (1 << (celda & 7))) != 0;
+            solucion[celda / size][celda % size] = valor;
+            inicial[celda / size][celda % size] = esPista ? valor : 0;
+        }
+    }
+
+    private static int leerBits(ByteBuffer buffer, int base, int bit, int cuantos) {
+        int indice = base + (bit >>> 3);
+        int desplazamiento = bit & 7;
+        int valor = buffer.get(indice) & 0xFF;
+        if (desplazamiento + cuantos > 8) {
+            valor |= (buffer.get(indice + 1) & 0xFF) << 8;
+        }
+        return valor >>> desplazamiento;
+    }
+
+    @Override
+    public void close() throws IOException {
+        canal.close();
+    }
+
+    /**
+     * @param geometria la forma del tablero.
+     * @return los bits necesarios para guardar valor - 1 de cada celda.
+     */
+    private static int bitsPorCelda(Geometria geometria) {
+        return 32 - Integer.numberOfLeadingZeros(geometria.getSize() - 1);
+    }
+
+    /**
+     * @param geometria la forma del tablero.
+     * @return los bytes que ocupa cada juego en el banco.
+     */
+    public static int bytesPorRegistro(Geometria geometria) {
+        int celdas = geometria.getCeldas();
+        return (celdas * bitsPorCelda(geometria) + 7) / 8 + (celdas + 7) / 8;
+    }
+
+    /**
+     * Empaqueta un juego en el formato de registro del banco.
+     *
+     * @param inicial el tablero inicial.
+     * @param solucion la solución, de la misma geometría.
+     * @param destino el arreglo donde se escribe el registro.
+     * @param offset la posición del registro dentro de {@code destino}.
+     */
+    public static void codificar(Tablero inicial, Tablero solucion, byte[] destino, int offset) {
+        Geometria geometria = solucion.getGeometria();
+        int bits = bitsPorCelda(geometria);
+        int celdas = geometria.getCeldas();
+        int inicioMascara = offset + (celdas * bits + 7) / 8;
+        Arrays.fill(destino, offset, offset + bytesPorRegistro(geometria), (byte) 0);
+
+        for (int celda = 0; celda < celdas; celda++) {
+            int valor = solucion.get(celda) - 1;
+            int bit = celda * bits;
+            int indice = offset + (bit >>> 3);
+            int desplazamiento = bit & 7;
+            destino[indice] |= (byte) (valor << desplazamiento);
+            if (desplazamiento + bits > 8) {
+                destino[indice + 1] |= (byte) (valor >>> (8 - desplazamiento));
+            }
+            if (inicial.get(celda) != 0) {
+                destino[inicioMascara + (celda >>> 3)] |= (byte) (1 << (celda & 7));
+            }
+        }
+    }
+
+    /**
+     * Escribe un banco nuevo agregando juegos al final; la cantidad se guarda al cerrarlo.
+     * Se puede usar desde varios hilos a la vez.
+     */
+    public static class Escritor implements Closeable {
+
+        private final FileChannel canal;
+        private final Geometria geometria;
+        private final int bytesPorRegistro;
+        private final byte[] registro;
+        private long cantidad;
+
+        /**
+         * Crea (o reemplaza) el archivo del banco.
+         *
+         * @param archivo la ruta del banco.
+         * @param geometria la forma de los tableros que se guardarán.
+         * @throws IOException si no se puede crear el archivo.
+         */
+        public Escritor(Path archivo, Geometria geometria) throws IOException {
+            this.canal = FileChannel.open(archivo, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            this.geometria = geometria;
+            this.bytesPorRegistro = BancoTableros.bytesPorRegistro(geometria);
+            this.registro = new byte[bytesPorRegistro];
+            escribirCabecera();
+        }
+
+        /**
+         * Agrega un juego al banco.
+         *
+         * @param inicial el tablero inicial.
+         * @param solucion la solución.
+         * @throws IOException si falla la escritura.
+         */
+        public synchronized void agregar(Tablero inicial, Tablero solucion) throws IOException {
+            codificar(inicial, solucion, registro, 0);
+            agregarCodificados(registro, 1);
+        }
+
+        /**
+         * Agrega varios registros ya empaquetados con {@link #codificar}.
+         *
+         * @param registros los registros uno tras otro.
+         * @param cuantos cuántos registros hay en el arreglo.
+         * @throws IOException si falla la escritura.
+         */
+        public synchronized void agregarCodificados(byte[] registros, int cuantos) throws IOException {
+            ByteBuffer buffer = ByteBuffer.wrap(registros, 0, cuantos * bytesPorRegistro);
+            long posicion = CABECERA + cantidad * bytesPorRegistro;
+            while (buffer.hasRemaining()) {
+                posicion += canal.write(buffer, posicion);
+            }
+            cantidad += cuantos;
+        }
+
+        private void escribirCabecera() throws IOException {
+            ByteBuffer cabecera = ByteBuffer.allocate(CABECERA).order(ByteOrder.LITTLE_ENDIAN);
+            cabecera.putInt(MAGICO)
+                    .putShort(VERSION)
+                    .put((byte) geometria.getSize())
+                    .put((byte) geometria.getSubFila())
+                    .put((byte) geometria.getSubColumna())
+                    .put((byte) bitsPorCelda(geometria))
+                    .putInt(bytesPorRegistro)
+                    .putLong(cantidad);
+            cabecera.clear();
+            canal.write(cabecera, 0);
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            try {
+                escribirCabecera();
+            } finally {
+                canal.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.gamesudoku.Model;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Conjunto de huellas de 64 bits guardado fuera del heap, para descartar juegos repetidos
+ * al generar decenas de millones sin llenar la memoria de la JVM de objetos {@code Long}.
+ * <p>
+ * Es una tabla hash de direccionamiento abierto con sondeo lineal sobre buffers directos:
+ * cada casilla es un long y el 0 marca una casilla libre (la huella 0 se guarda aparte).
+ * La tabla se duplica al pasar de {@link #CARGA_MAXIMA} de ocupación, así que ocupa entre
+ * 11 y 23 bytes por huella; como un buffer no pasa de 2 GB, se reparte en segmentos de 1 GB.
+ * La memoria directa se limita con {@code -XX:MaxDirectMemorySize}.
+ * <p>
+ * Los métodos están sincronizados para compartir un conjunto entre los hilos que generan.
+ *
+ * @author Jeferson Stiven Trullott Rivas
+ * @author Juan Carlos Fuentes
+ * @version 1.0
+ */
+public class ConjuntoHuellas {
+
+    /**
+     * Ocupación a partir de la cual la tabla duplica su capacidad.
+     */
+    private static final double CARGA_MAXIMA = 0.7;
+
+    /**
+     * Casillas por segmento (2^27 casillas de 8 bytes = 1 GB).
+     */
+    private static final int BITS_SEGMENTO = 27;
+    private static final long MASCARA_SEGMENTO = (1L << BITS_SEGMENTO) - 1;
+
+    private ByteBuffer[] segmentos;
+    private long capacidad;
+    private int bitsCapacidad;
+    private long limite;
+    private long cantidad;
+    private boolean tieneCero;
+
+    /**
+     * @param esperadas cuántas huellas se piensan guardar; la tabla crece si se pasan.
+     */
+    public ConjuntoHuellas(long esperadas) {
+        long necesaria = Math.max(16, (long) Math.ceil(esperadas / CARGA_MAXIMA));
+        reservar(64 - Long.numberOfLeadingZeros(necesaria - 1));
+    }
+
+    private void reservar(int bits) {
+        bitsCapacidad = bits;
+        capacidad = 1L << bits;
+        limite = (long) (capacidad * CARGA_MAXIMA);
+        int numSegmentos = (int) ((capacidad + MASCARA_SEGMENTO) >>> BITS_SEGMENTO);
+        segmentos = new ByteBuffer[numSegmentos];
+        for (int i = 0; i < numSegmentos; i++) {
+            long casillas = Math.min(capacidad - ((long) i << BITS_SEGMENTO), 1L << BITS_SEGMENTO);
+            // allocateDirect llena de ceros: todas las casillas empiezan libres
+            segmentos[i] = ByteBuffer.allocateDirect((int) (casillas * Long.BYTES)).order(ByteOrder.nativeOrder());
+        }
+    }
+
+    private long leer(long casilla) {
+        return segmentos[(int) (casilla >>> BITS_SEGMENTO)].getLong((int) (casilla & MASCARA_SEGMENTO) * Long.BYTES);
+    }
+
+    private void escribir(long casilla, long huella) {
+        segmentos[(int) (casilla >>> BITS_SEGMENTO)].putLong((int) (casilla & MASCARA_SEGMENTO) * Long.BYTES, huella);
+    }
+
+    /**
+     * Casilla inicial de una huella: los bits altos del producto por la razón áurea, para
+     * repartir bien aunque las huellas no vengan mezcladas.
+     */
+    private long inicio(long huella) {
+        return (huella * 0x9E3779B97F4A7C15L) >>> (64 - bitsCapacidad);
+    }
+
+    /**
+     * Agrega una huella.
+     *
+     * @param huella la huella.
+     * @return true si no estaba; false si ya se había agregado.
+     */
+    public synchronized boolean agregar(long huella) {
+        if (huella == 0) {
+            boolean nueva = !tieneCero;
+            tieneCero = true;
+            cantidad += nueva ? 1 : 0;
+            return nueva;
+        }
+        long mascara = capacidad - 1;
+        for (long casilla = inicio(huella); ; casilla = (casilla + 1) & mascara) {
+            long actual = leer(casilla);
+            if (actual == huella) {
+                return false;
+            }
+            if (actual == 0) {
+                escribir(casilla, huella);
+                if (++cantidad > limite) {
+                    crecer();
+                }
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @param huella la huella.
+     * @return true si la huella ya está en el conjunto.
+     */
+    public synchronized boolean contiene(long huella) {
+        if (huella == 0) {
+            return tieneCero;
+        }
+        long mascara = capacidad - 1;
+        for (long casilla = inicio(huella); ; casilla = (casilla + 1) & mascara) {
+            long actual = leer(casilla);
+            if (actual == huella) {
+                return true;
+            }
+            if (actual == 0) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Duplica la capacidad y vuelve a ubicar todas las huellas.
+     */
+    private void crecer() {
+        ByteBuffer[] anteriores = segmentos;
+        reservar(bitsCapacidad + 1);
+        long mascara = capacidad - 1;
+        for (ByteBuffer segmento : anteriores) {
+            for (int i = 0; i < segmento.capacity(); i += Long.BYTES) {
+                long huella = segmento.getLong(i);
+                if (huella != 0) {
+                    long casilla = inicio(huella);
+                    while (leer(casilla) != 0) {
+                        casilla = (casilla + 1) & mascara;
+                    }
+                    escribir(casilla, huella);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return cuántas huellas distintas hay en el conjunto.
+     */
+    public synchronized long getCantidad() {
+        return cantidad;
+    }
+
+    /**
+     * @return los bytes de memoria directa que ocupa la tabla.
+     */
+    public synchronized long getBytes() {
+        return capacidad * Long.BYTES;
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.gamesudoku.Model;
+
+/**
+ * Algoritmo capaz de contar las soluciones de un tablero, cortando la búsqueda en un límite.
+ *
+ * @author Jeferson Stiven Trullott Rivas
+ * @author Juan Carlos Fuentes
+ * @version 1.0
+ */
+public interface ContadorSoluciones {
+
+    /**
+     * Cuenta las soluciones de un tablero, deteniéndose al llegar al límite indicado.
+     *
+     * @param tablero el tablero a evaluar, con 0 en las celdas vacías. Al terminar queda igual.
+     * @param limite número de soluciones a partir del cual se deja de buscar (2 basta para unicidad).
+     * @return el número de soluciones encontradas, como máximo {@code limite}.
+     */
+    int contarSoluciones(int[][] tablero, int limite);
+
+    /**
+     * @return los nodos de búsqueda visitados desde que se creó el contador.
+     */
+    long getNodos();
+}
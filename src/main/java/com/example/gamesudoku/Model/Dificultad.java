@@ -0,0 +1,32 @@
+package com.example.gamesudoku.Model;
+
+/**
+ * Nivel de dificultad de un tablero inicial, según la técnica más avanzada que hace falta
+ * para resolverlo sin adivinar.
+ *
+ * @author Jeferson Stiven Trullott Rivas
+ * @author Juan Carlos Fuentes
+ * @version 1.0
+ */
+public enum Dificultad {
+
+    /**
+     * Se resuelve solo con solitarios ocultos, buscando dónde cabe cada número.
+     */
+    FACIL,
+
+    /**
+     * Necesita además solitarios desnudos, revisando los candidatos de cada celda.
+     */
+    MEDIA,
+
+    /**
+     * Necesita intersecciones entre bloques y líneas o parejas desnudas.
+     */
+    DIFICIL,
+
+    /**
+     * Ninguna de las técnicas alcanza; hace falta probar números y retroceder.
+     */
+    EXPERTO
+}
@@ -0,0 +1,120 @@
+package com.example.gamesudoku.Model;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores globales del motor, acumulados por todos los {@link JuegoSudoku} del proceso.
+ * Cada generación suma sus datos una sola vez al terminar, así que el costo en el camino
+ * crítico es el de unos pocos {@link LongAdder}, sin contención entre hilos.
+ *
+ * @author Jeferson Stiven Trullott Rivas
+ * @author Juan Carlos Fuentes
+ * @version 1.0
+ */
+public final class EstadisticasMotor {
+
+    private static final LongAdder GENERACIONES = new LongAdder();
+    private static final LongAdder NANOS_GENERACION = new LongAdder();
+    private static final LongAdder NODOS_RESOLVER = new LongAdder();
+    private static final LongAdder REINICIOS = new LongAdder();
+    private static final LongAdder NODOS_CONTEO = new LongAdder();
+    private static final LongAdder COMPROBACIONES = new LongAdder();
+    private static final LongAdder PASADAS = new LongAdder();
+    private static final LongAdder LIMITE_NO_CUMPLIDO = new LongAdder();
+
+    private EstadisticasMotor() {
+    }
+
+    /**
+     * Suma los datos de una generación terminada.
+     */
+    static void registrarGeneracion(EventoGeneracion datos, long nanos) {
+        GENERACIONES.increment();
+        NANOS_GENERACION.add(nanos);
+        NODOS_RESOLVER.add(datos.nodosResolver);
+        REINICIOS.add(datos.reinicios);
+        NODOS_CONTEO.add(datos.nodosConteo);
+        COMPROBACIONES.add(datos.comprobaciones);
+        PASADAS.add(datos.pasadas);
+        if (!datos.limiteCumplido) {
+            LIMITE_NO_CUMPLIDO.increment();
+        }
+    }
+
+    /**
+     * @return tableros generados.
+     */
+    public static long getGeneraciones() {
+        return GENERACIONES.sum();
+    }
+
+    /**
+     * @return latencia media de generación en microsegundos.
+     */
+    public static double getLatenciaMediaMicros() {
+        long generaciones = GENERACIONES.sum();
+        return generaciones == 0 ? 0 : NANOS_GENERACION.sum() / 1e3 / generaciones;
+    }
+
+    /**
+     * @return nodos de backtracking visitados al generar tableros resueltos.
+     */
+    public static long getNodosResolver() {
+        return NODOS_RESOLVER.sum();
+    }
+
+    /**
+     * @return veces que la generación del tablero resuelto agotó su presupuesto y se reinició.
+     */
+    public static long getReinicios() {
+        return REINICIOS.sum();
+    }
+
+    /**
+     * @return nodos visitados contando soluciones.
+     */
+    public static long getNodosConteo() {
+        return NODOS_CONTEO.sum();
+    }
+
+    /**
+     * @return comprobaciones de unicidad hechas por la excavación.
+     */
+    public static long getComprobaciones() {
+        return COMPROBACIONES.sum();
+    }
+
+    /**
+     * @return pasadas de excavación usadas.
+     */
+    public static long getPasadas() {
+        return PASADAS.sum();
+    }
+
+    /**
+     * @return tableros en los que no se logró dejar exactamente las pistas pedidas por bloque.
+     */
+    public static long getLimiteNoCumplido() {
+        return LIMITE_NO_CUMPLIDO.sum();
+    }
+
+    /**
+     * Vuelve todos los contadores a cero.
+     */
+    public static void reiniciar() {
+        for (LongAdder contador : new LongAdder[]{GENERACIONES, NANOS_GENERACION, NODOS_RESOLVER,
+                REINICIOS, NODOS_CONTEO, COMPROBACIONES, PASADAS, LIMITE_NO_CUMPLIDO}) {
+            contador.reset();
+        }
+    }
+
+    /**
+     * @return una línea con los valores actuales de todos los contadores.
+     */
+    public static String resumen() {
+        return String.format("generaciones=%d latenciaMedia=%.1fus nodosResolver=%d reinicios=%d "
+                        + "nodosConteo=%d comprobaciones=%d pasadas=%d limiteNoCumplido=%d",
+                getGeneraciones(), getLatenciaMediaMicros(), getNodosResolver(), getReinicios(),
+                getNodosConteo(), getComprobaciones(), getPasadas(), getLimiteNoCumplido());
+    }
+}
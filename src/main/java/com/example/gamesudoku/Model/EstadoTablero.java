@@ -0,0 +1,450 @@
+package com.example.gamesudoku.Model;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Estado de una partida en curso que se actualiza de forma incremental con cada jugada.
+ * <p>
+ * Lleva, para cada fila, columna y bloque, cuántas veces aparece cada número, el conjunto
+ * de celdas que están en conflicto y cuántas celdas están llenas y cuántas coinciden con la
+ * solución. Así, validar una jugada, saber qué celdas cambian de color y detectar que el
+ * juego terminó cuesta lo mismo sin importar cuánto se haya llenado el tablero: solo se
+ * revisan la celda editada y sus vecinos.
+ * <p>
+ * Con los mismos datos mantiene los candidatos de cada celda vacía para dar pistas al
+ * instante: las celdas agrupadas por cantidad de candidatos, cuántas celdas admiten cada
+ * número en cada unidad (con el XOR de sus índices, que da la celda exacta cuando es una
+ * sola) y las celdas con números que no son de la solución.
+ *
+ * @author Jeferson Stiven Trullott Rivas
+ * @author Juan Carlos Fuentes
+ * @version 1.0
+ */
+public class EstadoTablero {
+
+    private final Geometria geometria;
+    private final int size;
+    private final int celdas;
+
+    /**
+     * Número actual de cada celda (0 = vacía), por índice plano.
+     */
+    private final int[] valores;
+    private final int[] solucion;
+    private final boolean[] fija;
+
+    /**
+     * Veces que aparece cada número en cada fila, columna y bloque, indexado por
+     * {@code unidad * (size + 1) + numero}. Las filas son las unidades 0 a size - 1, las
+     * columnas las siguientes size y los bloques las últimas size.
+     */
+    private final int[] conteo;
+
+    private final boolean[] enConflicto;
+    private int totalConflictos;
+    private int llenas;
+    private int correctas;
+
+    /**
+     * Números presentes en cada unidad (bit n encendido = conteo mayor que 0).
+     */
+    private final int[] usados;
+
+    /**
+     * Candidatos de cada celda vacía; 0 en las celdas llenas.
+     */
+    private final int[] mascara;
+
+    /**
+     * Celdas vacías de cada unidad que admiten cada número, y el XOR de sus índices, con el
+     * mismo índice que {@link #conteo}.
+     */
+    private final int[] posiciones;
+    private final int[] xorPosiciones;
+
+    /**
+     * Números que caben en una sola celda de cada unidad, y las unidades que tienen alguno
+     * (bit u encendido; hay como mucho 48 unidades).
+     */
+    private final int[] unicos;
+    private long unidadesConUnico;
+
+    /**
+     * Celdas vacías agrupadas por cantidad de candidatos en listas doblemente enlazadas,
+     * con las cubetas no vacías marcadas en {@code cubetasOcupadas}.
+     */
+    private final int[] cabeza;
+    private final int[] siguienteEnCubeta;
+    private final int[] anteriorEnCubeta;
+    private final int[] cubeta;
+    private int cubetasOcupadas;
+
+    /**
+     * Conjunto de celdas con un número distinto al de la solución, con su posición en la lista.
+     */
+    private final int[] erroneas;
+    private final int[] posicionErronea;
+    private int totalErroneas;
+
+    /**
+     * Crea el estado de una partida a partir de su tablero inicial.
+     *
+     * @param inicial el tablero inicial, con 0 en las celdas vacías.
+     * @param solucion la solución del juego, de la misma geometría.
+     */
+    public EstadoTablero(Tablero inicial, Tablero solucion) {
+        this.geometria = inicial.getGeometria();
+        this.size = geometria.getSize();
+        this.celdas = geometria.getCeldas();
+        this.valores = new int[celdas];
+        this.solucion = new int[celdas];
+        this.fija = new boolean[celdas];
+        this.conteo = new int[3 * size * (size + 1)];
+        this.enConflicto = new boolean[celdas];
+        this.usados = new int[3 * size];
+        this.mascara = new int[celdas];
+        this.posiciones = new int[conteo.length];
+        this.xorPosiciones = new int[conteo.length];
+        this.unicos = new int[3 * size];
+        this.cabeza = new int[size + 1];
+        this.siguienteEnCubeta = new int[celdas];
+        this.anteriorEnCubeta = new int[celdas];
+        this.cubeta = new int[celdas];
+        this.erroneas = new int[celdas];
+        this.posicionErronea = new int[celdas];
+        Arrays.fill(cabeza, -1);
+        Arrays.fill(cubeta, -1);
+
+        for (int celda = 0; celda < celdas; celda++) {
+            this.solucion[celda] = solucion.get(celda);
+            fija[celda] = inicial.get(celda) != 0;
+            colocar(celda, inicial.get(celda), null);
+        }
+        for (int celda = 0; celda < celdas; celda++) {
+            refrescarCandidatos(celda);
+        }
+    }
+
+    /**
+     * Coloca (o borra, con 0) un número en una celda y actualiza conteos, conflictos y
+     * celdas correctas revisando solo la celda y sus vecinos.
+     *
+     * @param celda el índice plano de la celda.
+     * @param num el número nuevo, o 0 para vaciar la celda.
+     * @param cambioConflicto recibe cada celda que entró o salió de conflicto; puede ser null.
+     */
+    public void colocar(int celda, int num, IntConsumer cambioConflicto) {
+        int anterior = valores[celda];
+        if (anterior == num) {
+            return;
+        }
+        if (anterior != 0) {
+            sumar(celda, anterior, -1);
+            llenas--;
+            if (anterior == solucion[celda]) {
+                correctas--;
+            } else {
+                quitarErronea(celda);
+            }
+        }
+        valores[celda] = num;
+        if (num != 0) {
+            sumar(celda, num, 1);
+            llenas++;
+            if (num == solucion[celda]) {
+                correctas++;
+            } else {
+                agregarErronea(celda);
+            }
+        }
+
+        // Los candidatos solo cambian en la celda y en las celdas de sus tres unidades
+        refrescarCandidatos(celda);
+        for (int vecino : geometria.vecinos[celda]) {
+            refrescarCandidatos(vecino);
+        }
+
+        // Solo pueden cambiar la celda editada y los vecinos con el número quitado o el puesto
+        revisarConflicto(celda, cambioConflicto);
+        for (int vecino : geometria.vecinos[celda]) {
+            int valor = valores[vecino];
+            if (valor != 0 && (valor == anterior || valor == num)) {
+                revisarConflicto(vecino, cambioConflicto);
+            }
+        }
+    }
+
+    /**
+     * Coloca un número usando fila y columna.
+     *
+     * @param fila la fila de la celda.
+     * @param colum la columna de la celda.
+     * @param num el número nuevo, o 0 para vaciar la celda.
+     * @param cambioConflicto recibe cada celda que entró o salió de conflicto; puede ser null.
+     */
+    public void colocar(int fila, int colum, int num, IntConsumer cambioConflicto) {
+        colocar(fila * size + colum, num, cambioConflicto);
+    }
+
+    private void sumar(int celda, int num, int delta) {
+        sumarUnidad(geometria.filaDe[celda], num, delta);
+        sumarUnidad(size + geometria.columnaDe[celda], num, delta);
+        sumarUnidad(2 * size + geometria.bloqueDe[celda], num, delta);
+    }
+
+    private void sumarUnidad(int unidad, int num, int delta) {
+        int indice = unidad * (size + 1) + num;
+        conteo[indice] += delta;
+        if (conteo[indice] > 0) {
+            usados[unidad] |= 1 << num;
+        } else {
+            usados[unidad] &= ~(1 << num);
+        }
+    }
+
+    /**
+     * Recalcula los candidatos de una celda y actualiza las posiciones por unidad y su cubeta.
+     */
+    private void refrescarCandidatos(int celda) {
+        int fila = geometria.filaDe[celda];
+        int colum = size + geometria.columnaDe[celda];
+        int bloque = 2 * size + geometria.bloqueDe[celda];
+        int nueva = valores[celda] != 0 ? 0
+                : geometria.todos & ~(usados[fila] | usados[colum] | usados[bloque]);
+        int cambios = nueva ^ mascara[celda];
+        if (cambios != 0) {
+            mascara[celda] = nueva;
+            for (; cambios != 0; cambios &= cambios - 1) {
+                int num = Integer.numberOfTrailingZeros(cambios);
+                int delta = (nueva & (1 << num)) != 0 ? 1 : -1;
+                moverPosicion(fila, num, celda, delta);
+                moverPosicion(colum, num, celda, delta);
+                moverPosicion(bloque, num, celda, delta);
+            }
+        }
+        moverACubeta(celda, valores[celda] != 0 ? -1 : Integer.bitCount(nueva));
+    }
+
+    private void moverPosicion(int unidad, int num, int celda, int delta) {
+        int indice = unidad * (size + 1) + num;
+        posiciones[indice] += delta;
+        xorPosiciones[indice] ^= celda;
+        if (posiciones[indice] == 1) {
+            unicos[unidad] |= 1 << num;
+        } else {
+            unicos[unidad] &= ~(1 << num);
+        }
+        if (unicos[unidad] != 0) {
+            unidadesConUnico |= 1L << unidad;
+        } else {
+            unidadesConUnico &= ~(1L << unidad);
+        }
+    }
+
+    private void moverACubeta(int celda, int destino) {
+        int origen = cubeta[celda];
+        if (origen == destino) {
+            return;
+        }
+        if (origen >= 0) {
+            int previa = anteriorEnCubeta[celda];
+            int proxima = siguienteEnCubeta[celda];
+            if (previa >= 0) {
+                siguienteEnCubeta[previa] = proxima;
+            } else {
+                cabeza[origen] = proxima;
+                if (proxima < 0) {
+                    cubetasOcupadas &= ~(1 << origen);
+                }
+            }
+            if (proxima >= 0) {
+                anteriorEnCubeta[proxima] = previa;
+            }
+        }
+        cubeta[celda] = destino;
+        if (destino >= 0) {
+            anteriorEnCubeta[celda] = -1;
+            siguienteEnCubeta[celda] = cabeza[destino];
+            if (cabeza[destino] >= 0) {
+                anteriorEnCubeta[cabeza[destino]] = celda;
+            }
+            cabeza[destino] = celda;
+            cubetasOcupadas |= 1 << destino;
+        }
+    }
+
+    private void agregarErronea(int celda) {
+        posicionErronea[celda] = totalErroneas;
+        erroneas[totalErroneas++] = celda;
+    }
+
+    private void quitarErronea(int celda) {
+        int ultima = erroneas[--totalErroneas];
+        erroneas[posicionErronea[celda]] = ultima;
+        posicionErronea[ultima] = posicionErronea[celda];
+    }
+
+    /**
+     * Elige la siguiente pista sin recorrer el tablero. En orden de prioridad: corregir un
+     * número equivocado, un solitario oculto, un solitario desnudo y, si no hay celdas
+     * forzadas, la celda con menos candidatos.
+     *
+     * @return la pista, o null si no quedan celdas vacías ni números equivocados.
+     */
+    public Pista siguientePista() {
+        if (totalErroneas > 0) {
+            int celda = erroneas[0];
+            return pista(celda, Pista.Motivo.ERROR, null);
+        }
+        if (unidadesConUnico != 0) {
+            int unidad = Long.numberOfTrailingZeros(unidadesConUnico);
+            int num = Integer.numberOfTrailingZeros(unicos[unidad]);
+            int celda = xorPosiciones[unidad * (size + 1) + num];
+            return pista(celda, Pista.Motivo.SOLITARIO_OCULTO, nombreUnidad(unidad));
+        }
+        if (cubetasOcupadas == 0) {
+            return null;
+        }
+        int menor = Integer.numberOfTrailingZeros(cubetasOcupadas);
+        int celda = cabeza[menor];
+        return pista(celda, menor == 1 ? Pista.Motivo.SOLITARIO_DESNUDO : Pista.Motivo.MAS_RESTRINGIDA, null);
+    }
+
+    private Pista pista(int celda, Pista.Motivo motivo, String unidad) {
+        return new Pista(geometria.filaDe[celda], geometria.columnaDe[celda], solucion[celda],
+                motivo, unidad, Integer.bitCount(mascara[celda]));
+    }
+
+    private String nombreUnidad(int unidad) {
+        if (unidad < size) {
+            return "fila " + (unidad + 1);
+        }
+        if (unidad < 2 * size) {
+            return "columna " + (unidad - size + 1);
+        }
+        return "bloque " + (unidad - 2 * size + 1);
+    }
+
+    private void revisarConflicto(int celda, IntConsumer cambioConflicto) {
+        boolean conflicto = valores[celda] != 0 && repeticiones(celda, valores[celda]) > 1;
+        if (conflicto != enConflicto[celda]) {
+            enConflicto[celda] = conflicto;
+            totalConflictos += conflicto ? 1 : -1;
+            if (cambioConflicto != null) {
+                cambioConflicto.accept(celda);
+            }
+        }
+    }
+
+    /**
+     * @return el mayor número de veces que aparece {@code num} en la fila, columna o bloque de la celda.
+     */
+    private int repeticiones(int celda, int num) {
+        int ancho = size + 1;
+        int enFila = conteo[geometria.filaDe[celda] * ancho + num];
+        int enColumna = conteo[(size + geometria.columnaDe[celda]) * ancho + num];
+        int enBloque = conteo[(2 * size + geometria.bloqueDe[celda]) * ancho + num];
+        return Math.max(enFila, Math.max(enColumna, enBloque));
+    }
+
+    /**
+     * Indica si un número puede ponerse en una celda sin repetirse en su fila, columna o bloque,
+     * sin contar el número que la celda ya tenga.
+     *
+     * @param fila la fila de la celda.
+     * @param colum la columna de la celda.
+     * @param num el número a validar.
+     * @return true si el número no se repetiría.
+     */
+    public boolean esMovimientoValido(int fila, int colum, int num) {
+        int celda = fila * size + colum;
+        int propio = valores[celda] == num ? 1 : 0;
+        return repeticiones(celda, num) - propio == 0;
+    }
+
+    /**
+     * @param celda el índice plano de la celda.
+     * @return true si el número de la celda se repite en su fila, columna o bloque.
+     */
+    public boolean esConflicto(int celda) {
+        return enConflicto[celda];
+    }
+
+    /**
+     * @param celda el índice plano de la celda.
+     * @return true si la celda es una pista del tablero inicial.
+     */
+    public boolean esFija(int celda) {
+        return fija[celda];
+    }
+
+    /**
+     * @param fila la fila de la celda.
+     * @param colum la columna de la celda.
+     * @return el número de la celda, o 0 si está vacía.
+     */
+    public int getValor(int fila, int colum) {
+        return valores[fila * size + colum];
+    }
+
+    /**
+     * @param fila la fila de la celda.
+     * @param colum la columna de la celda.
+     * @return el número que va en la celda según la solución.
+     */
+    public int getSolucion(int fila, int colum) {
+        return solucion[fila * size + colum];
+    }
+
+    /**
+     * @param fila la fila de la celda.
+     * @param colum la columna de la celda.
+     * @return máscara de los números que caben en la celda vacía (bit n encendido = número n), 0 si está llena.
+     */
+    public int getCandidatos(int fila, int colum) {
+        return mascara[fila * size + colum];
+    }
+
+    /**
+     * @return cuántas celdas están en conflicto.
+     */
+    public int getTotalConflictos() {
+        return totalConflictos;
+    }
+
+    /**
+     * @return cuántas celdas tienen un número.
+     */
+    public int getLlenas() {
+        return llenas;
+    }
+
+    /**
+     * @return cuántas celdas tienen el número de la solución.
+     */
+    public int getCorrectas() {
+        return correctas;
+    }
+
+    /**
+     * @return true si todas las celdas coinciden con la solución.
+     */
+    public boolean estaResuelto() {
+        return correctas == celdas;
+    }
+
+    /**
+     * @return el tablero actual empaquetado.
+     */
+    public Tablero getTablero() {
+        return Tablero.de(geometria, valores);
+    }
+
+    /**
+     * @return la geometría del tablero.
+     */
+    public Geometria getGeometria() {
+        return geometria;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.gamesudoku.Model;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento de Java Flight Recorder emitido por cada {@link JuegoSudoku#generarNuevoTablero()}.
+ * Su duración es la latencia de generación, así que una grabación permite ver el histograma
+ * de latencias junto con el trabajo de búsqueda que costó cada tablero.
+ * Los campos se llenan siempre, porque {@link EstadisticasMotor} los lee para sus contadores;
+ * si la grabación no incluye el evento solo se omite {@code commit()}.
+ *
+ * @author Jeferson Stiven Trullott Rivas
+ * @author Juan Carlos Fuentes
+ * @version 1.0
+ */
+@Name("com.example.gamesudoku.Generacion")
+@Label("Generación de tablero")
+@Category("Sudoku")
+@Description("Generación de un tablero resuelto y su tablero inicial")
+@StackTrace(false)
+public class EventoGeneracion extends Event {
+
+    @Label("Tamaño")
+    public int size;
+
+    @Label("Id del juego")
+    @Description("Identificador con el que se puede volver a generar el mismo juego")
+    public long id;
+
+    @Label("Nodos del tablero resuelto")
+    @Description("Nodos de backtracking visitados al generar el tablero resuelto")
+    public long nodosResolver;
+
+    @Label("Reinicios del tablero resuelto")
+    public int reinicios;
+
+    @Label("Nodos de conteo")
+    @Description("Nodos visitados contando soluciones durante la excavación")
+    public long nodosConteo;
+
+    @Label("Comprobaciones de unicidad")
+    public int comprobaciones;
+
+    @Label("Pasadas de excavación")
+    public int pasadas;
+
+    @Label("Límite por bloque cumplido")
+    public boolean limiteCumplido;
+
+    @Label("Dificultad")
+    @Description("Dificultad del tablero según las técnicas que necesita")
+    public String dificultad;
+
+    @Label("Intentos")
+    @Description("Tableros generados hasta dar con la dificultad pedida")
+    public int intentos;
+
+    @Label("Plazo vencido")
+    @Description("La generación se cortó por el plazo y entregó el mejor tablero hasta entonces")
+    public boolean plazoVencido;
+}
@@ -0,0 +1,325 @@
+package com.example.gamesudoku.Model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Forma canónica de un tablero bajo las simetrías de su geometría: permutar filas dentro de
+ * una banda, bandas, columnas dentro de una pila, pilas, transponer si los bloques son
+ * cuadrados y renombrar los números (las mismas transformaciones de {@link Simetria}).
+ * Dos tableros son el mismo juego disfrazado si y solo si tienen la misma forma canónica.
+ * <p>
+ * La forma canónica es la menor, en orden de lectura fila por fila, de todas las
+ * transformaciones del tablero, con el 0 (celda vacía) como menor valor. Para cada
+ * permutación de posiciones el mejor renombrado es numerar los números en el orden en que
+ * aparecen, así que basta buscar entre las permutaciones de filas y columnas (3.456 en el
+ * 6x6). En lugar de recorrerlas todas, la forma se arma fila por fila conservando solo las
+ * transformaciones que empatan con la menor fila hasta ahí, que suelen ser pocas.
+ * <p>
+ * La {@link #huella} resume la forma canónica en 64 bits para guardar millones de juegos en
+ * un {@link ConjuntoHuellas}. Un objeto reutiliza sus arreglos y no es seguro entre hilos.
+ *
+ * @author Jeferson Stiven Trullott Rivas
+ * @author Juan Carlos Fuentes
+ * @version 1.0
+ */
+public class FormaCanonica {
+
+    /**
+     * Máximo de permutaciones de posiciones que se aceptan; el 9x9 tiene millones y no se
+     * puede recorrer por cada tablero.
+     */
+    private static final int MAX_PERMUTACIONES = 100_000;
+
+    private final int size;
+    private final int celdas;
+    private final int subFila;
+    private final int[][] permutacionesColumnas;
+    private final boolean transponer;
+
+    /**
+     * Filas de cada banda como máscara de bits.
+     */
+    private final int[] mascaraBanda;
+
+    /**
+     * El tablero y su transpuesta, celda por celda.
+     */
+    private final int[][] planos;
+    private final int[] mejor;
+    private final int[] filaMejor;
+    private final int[] filaActual;
+    private final int[] etiqueta;
+
+    /**
+     * Candidatos actuales y los del siguiente paso: orientación, permutación de columnas,
+     * filas usadas, última fila elegida y renombrado (la posición 0 guarda el último número
+     * asignado). Se dimensionan para el peor caso, en que todas las transformaciones empatan.
+     */
+    private int cantidad;
+    private int[] planoDe;
+    private int[] columnasDe;
+    private int[] usadas;
+    private int[] ultima;
+    private int[] etiquetas;
+    private int[] planoNuevo;
+    private int[] columnasNuevo;
+    private int[] usadasNuevo;
+    private int[] ultimaNuevo;
+    private int[] etiquetasNuevo;
+
+    /**
+     * @param geometria la forma de los tableros.
+     * @throws IllegalArgumentException si la geometría tiene demasiadas simetrías (ver {@link #soporta}).
+     */
+    public FormaCanonica(Geometria geometria) {
+        if (!soporta(geometria)) {
+            throw new IllegalArgumentException("Forma canónica no soportada para " + geometria);
+        }
+        this.size = geometria.getSize();
+        this.celdas = geometria.getCeldas();
+        this.subFila = geometria.getSubFila();
+        this.permutacionesColumnas = permutaciones(size / geometria.getSubColumna(), geometria.getSubColumna());
+        this.transponer = geometria.getSubFila() == geometria.getSubColumna();
+        this.mascaraBanda = new int[size / subFila];
+        for (int fila = 0; fila < size; fila++) {
+            mascaraBanda[fila / subFila] |= 1 << fila;
+        }
+        this.planos = new int[2][celdas];
+        this.mejor = new int[celdas];
+        this.filaMejor = new int[size];
+        this.filaActual = new int[size];
+        this.etiqueta = new int[size + 1];
+
+        int maximo = (int) ((transponer ? 2 : 1) * permutacionesColumnas.length
+                * cantidadPermutaciones(size / subFila, subFila));
+        planoDe = new int[maximo];
+        columnasDe = new int[maximo];
+        usadas = new int[maximo];
+        ultima = new int[maximo];
+        etiquetas = new int[maximo * (size + 1)];
+        planoNuevo = new int[maximo];
+        columnasNuevo = new int[maximo];
+        usadasNuevo = new int[maximo];
+        ultimaNuevo = new int[maximo];
+        etiquetasNuevo = new int[maximo * (size + 1)];
+    }
+
+    /**
+     * @param geometria la forma del tablero.
+     * @return true si sus simetrías son pocas para recorrerlas (4x4 y 6x6).
+     */
+    public static boolean soporta(Geometria geometria) {
+        long filas = cantidadPermutaciones(geometria.getSize() / geometria.getSubFila(), geometria.getSubFila());
+        long columnas = cantidadPermutaciones(geometria.getSize() / geometria.getSubColumna(), geometria.getSubColumna());
+        return filas * columnas <= MAX_PERMUTACIONES;
+    }
+
+    private static long cantidadPermutaciones(int grupos, int largo) {
+        long total = factorial(grupos);
+        for (int g = 0; g < grupos; g++) {
+            total *= factorial(largo);
+        }
+        return total;
+    }
+
+    private static long factorial(int n) {
+        long resultado = 1;
+        for (int i = 2; i <= n; i++) {
+            resultado *= i;
+        }
+        return resultado;
+    }
+
+    /**
+     * Todas las formas de ordenar {@code grupos} grupos de {@code largo} líneas y las líneas
+     * dentro de cada grupo; cada permutación dice la línea de origen de cada posición.
+     */
+    private static int[][] permutaciones(int grupos, int largo) {
+        List<int[]> ordenGrupos = new ArrayList<>();
+        permutar(new int[grupos], new boolean[grupos], 0, ordenGrupos);
+        List<int[]> ordenLineas = new ArrayList<>();
+        permutar(new int[largo], new boolean[largo], 0, ordenLineas);
+
+        List<int[]> resultado = new ArrayList<>();
+        for (int[] orden : ordenGrupos) {
+            agregarLineas(orden, ordenLineas, largo, 0, new int[grupos * largo], resultado);
+        }
+        return resultado.toArray(new int[0][]);
+    }
+
+    private static void agregarLineas(int[] ordenGrupos, List<int[]> ordenLineas, int largo, int grupo,
+                                      int[] actual, List<int[]> resultado) {
+        if (grupo == ordenGrupos.length) {
+            resultado.add(actual.clone());
+            return;
+        }
+        for (int[] lineas : ordenLineas) {
+            for (int i = 0; i < largo; i++) {
+                actual[grupo * largo + i] = ordenGrupos[grupo] * largo + lineas[i];
+            }
+            agregarLineas(ordenGrupos, ordenLineas, largo, grupo + 1, actual, resultado);
+        }
+    }
+
+    private static void permutar(int[] actual, boolean[] usado, int posicion, List<int[]> resultado) {
+        if (posicion == actual.length) {
+            resultado.add(actual.clone());
+            return;
+        }
+        for (int i = 0; i < actual.length; i++) {
+            if (!usado[i]) {
+                usado[i] = true;
+                actual[posicion] = i;
+                permutar(actual, usado, posicion + 1, resultado);
+                usado[i] = false;
+            }
+        }
+    }
+
+    /**
+     * Calcula la forma canónica de un tablero.
+     *
+     * @param tablero el tablero, con 0 en las celdas vacías.
+     * @return la forma canónica, igual para todas las versiones transformadas del mismo juego.
+     */
+    public Tablero canonizar(Tablero tablero) {
+        calcular(tablero);
+        return Tablero.de(tablero.getGeometria(), mejor);
+    }
+
+    /**
+     * Calcula la huella de un tablero: 64 bits de la forma canónica, iguales para todas las
+     * versiones transformadas del mismo juego.
+     *
+     * @param tablero el tablero, con 0 en las celdas vacías.
+     * @return la huella.
+     */
+    public long huella(Tablero tablero) {
+        calcular(tablero);
+        int bits = 32 - Integer.numberOfLeadingZeros(size);
+        int porBloque = 64 / bits;
+        long huella = size;
+        for (int inicio = 0; inicio < celdas; inicio += porBloque) {
+            long bloque = 0;
+            for (int celda = inicio; celda < Math.min(celdas, inicio + porBloque); celda++) {
+                bloque = (bloque << bits) | mejor[celda];
+            }
+            huella = mezclar(huella ^ bloque);
+        }
+        return huella;
+    }
+
+    /**
+     * Mezcla final de MurmurHash3: biyectiva, cada bit de entrada afecta a todos los de salida.
+     */
+    private static long mezclar(long h) {
+        h = (h ^ (h >>> 33)) * 0xFF51AFD7ED558CCDL;
+        h = (h ^ (h >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return h ^ (h >>> 33);
+    }
+
+    /**
+     * Construye la forma canónica fila por fila: en cada paso prueba todas las filas que
+     * pueden seguir en cada candidato, se queda con la menor fila resultante y conserva solo
+     * los candidatos que la empatan. Un candidato es una transformación a medio elegir: la
+     * orientación, la permutación de columnas, las filas ya usadas y el renombrado de números
+     * hecho hasta ahí.
+     */
+    private void calcular(Tablero tablero) {
+        for (int celda = 0; celda < celdas; celda++) {
+            int valor = tablero.get(celda);
+            planos[0][celda] = valor;
+            planos[1][(celda % size) * size + celda / size] = valor;
+        }
+        int largoEtiquetas = size + 1;
+        cantidad = 0;
+        for (int plano = 0; plano < (transponer ? 2 : 1); plano++) {
+            for (int columnas = 0; columnas < permutacionesColumnas.length; columnas++) {
+                planoDe[cantidad] = plano;
+                columnasDe[cantidad] = columnas;
+                usadas[cantidad] = 0;
+                ultima[cantidad] = -1;
+                Arrays.fill(etiquetas, cantidad * largoEtiquetas, (cantidad + 1) * largoEtiquetas, 0);
+                cantidad++;
+            }
+        }
+
+        for (int posicion = 0; posicion < size; posicion++) {
+            boolean inicioBanda = posicion % subFila == 0;
+            int nuevos = 0;
+            boolean hayFila = false;
+            for (int k = 0; k < cantidad; k++) {
+                int[] plano = planos[planoDe[k]];
+                int[] columnas = permutacionesColumnas[columnasDe[k]];
+                for (int fila = 0; fila < size; fila++) {
+                    int banda = fila / subFila;
+                    boolean permitida = inicioBanda
+                            ? (usadas[k] & mascaraBanda[banda]) == 0
+                            : (usadas[k] & (1 << fila)) == 0 && banda == ultima[k] / subFila;
+                    if (!permitida) {
+                        continue;
+                    }
+                    // Renombra la fila sobre una copia de las etiquetas del candidato
+                    System.arraycopy(etiquetas, k * largoEtiquetas, etiqueta, 0, largoEtiquetas);
+                    int orden = hayFila ? 0 : -1;
+                    for (int c = 0; c < size; c++) {
+                        int valor = plano[fila * size + columnas[c]];
+                        if (valor != 0) {
+                            if (etiqueta[valor] == 0) {
+                                etiqueta[valor] = ++etiqueta[0];
+                            }
+                            valor = etiqueta[valor];
+                        }
+                        if (orden == 0) {
+                            orden = Integer.compare(valor, filaMejor[c]);
+                            if (orden > 0) {
+                                break;
+                            }
+                        }
+                        filaActual[c] = valor;
+                    }
+                    if (orden > 0) {
+                        continue;
+                    }
+                    if (orden < 0) {
+                        nuevos = 0;
+                        hayFila = true;
+                        System.arraycopy(filaActual, 0, filaMejor, 0, size);
+                    }
+                    planoNuevo[nuevos] = planoDe[k];
+                    columnasNuevo[nuevos] = columnasDe[k];
+                    usadasNuevo[nuevos] = usadas[k] | (1 << fila);
+                    ultimaNuevo[nuevos] = fila;
+                    System.arraycopy(etiqueta, 0, etiquetasNuevo, nuevos * largoEtiquetas, largoEtiquetas);
+                    nuevos++;
+                }
+            }
+            System.arraycopy(filaMejor, 0, mejor, posicion * size, size);
+            intercambiar();
+            cantidad = nuevos;
+        }
+    }
+
+    /**
+     * Los candidatos nuevos pasan a ser los actuales; los arreglos viejos se reutilizan.
+     */
+    private void intercambiar() {
+        int[] temp = planoDe;
+        planoDe = planoNuevo;
+        planoNuevo = temp;
+        temp = columnasDe;
+        columnasDe = columnasNuevo;
+        columnasNuevo = temp;
+        temp = usadas;
+        usadas = usadasNuevo;
+        usadasNuevo = temp;
+        temp = ultima;
+        ultima = ultimaNuevo;
+        ultimaNuevo = temp;
+        temp = etiquetas;
+        etiquetas = etiquetasNuevo;
+        etiquetasNuevo = temp;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.gamesudoku.Model;
+
+/**
+ * Convierte tableros a texto compacto y viceversa: una cifra por celda, en orden de lectura,
+ * con '0' para las celdas vacías y letras (A = 10, B = 11, ...) en tableros de más de 9.
+ *
+ * @author Jeferson Stiven Trullott Rivas
+ * @author Juan Carlos Fuentes
+ * @version 1.0
+ */
+public final class FormatoTablero {
+
+    private FormatoTablero() {
+    }
+
+    /**
+     * Escribe un tablero en texto compacto.
+     *
+     * @param tablero el tablero a escribir.
+     * @param destino donde se agrega el texto.
+     */
+    public static void escribir(Tablero tablero, StringBuilder destino) {
+        for (int celda = 0; celda < tablero.getGeometria().getCeldas(); celda++) {
+            destino.append(Character.toUpperCase(Character.forDigit(tablero.get(celda), Character.MAX_RADIX)));
+        }
+    }
+
+    /**
+     * Lee un tablero desde texto compacto.
+     *
+     * @param texto el texto, con exactamente size·size cifras.
+     * @param geometria la forma del tablero.
+     * @return el tablero leído.
+     * @throws IllegalArgumentException si el texto no corresponde a la geometría.
+     */
+    public static int[][] desdeTexto(CharSequence texto, Geometria geometria) {
+        int size = geometria.getSize();
+        if (texto.length() != geometria.getCeldas()) {
+            throw new IllegalArgumentException("Se esperaban " + geometria.getCeldas() + " cifras");
+        }
+        int[][] tablero = new int[size][size];
+        for (int i = 0; i < texto.length(); i++) {
+            int valor = Character.digit(texto.charAt(i), Character.MAX_RADIX);
+            if (valor < 0 || valor > size) {
+                throw new IllegalArgumentException("Cifra inválida en la posición " + i);
+            }
+            tablero[i / size][i % size] = valor;
+        }
+        return tablero;
+    }
+}
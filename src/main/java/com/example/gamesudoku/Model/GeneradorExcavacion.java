@@ -0,0 +1,326 @@
+package com.example.gamesudoku.Model;
+
+import java.util.concurrent.CancellationException;
+import java.util.random.RandomGenerator;
+
+/**
+ * Crea tableros iniciales "excavando" un tablero resuelto: quita pistas una a una en orden
+ * aleatorio y deshace cada quita que rompería la unicidad de la solución.
+ * <p>
+ * La unicidad se comprueba de forma incremental: si el tablero actual tiene solución única
+ * y se vacía una celda con valor {@code v}, el nuevo tablero sigue siendo único si y solo si
+ * ninguna otra cifra posible en esa celda lleva a una solución. Basta entonces con buscar
+ * una sola solución por alternativa, en lugar de contar hasta dos sobre el tablero completo.
+ * Cada tablero intermedio es único, así que no hay ruta de respaldo con tableros ambiguos.
+ * <p>
+ * El número de comprobaciones está acotado por {@code MAX_PASADAS} veces el número de celdas,
+ * y el arreglo de la permutación de celdas se reutiliza entre llamadas; cada pasada parte del
+ * orden natural, así el resultado depende solo del flujo aleatorio y no de llamadas anteriores.
+ * <p>
+ * También puede excavar limitado por técnica: con un {@link SolucionadorLogico} y una
+ * dificultad máxima, una pista solo se quita si el tablero sigue resolviéndose por
+ * propagación con esas técnicas. Eso ya garantiza la unicidad sin buscar alternativas.
+ * <p>
+ * Con un plazo ({@link #setPlazo}) la excavación se detiene al vencer, o si se interrumpe el
+ * hilo, y entrega el mejor tablero hasta ese momento. Como cada tablero intermedio es único,
+ * el resultado sigue siendo válido aunque tenga más pistas; en el peor caso es el tablero
+ * resuelto completo.
+ *
+ * @author Jeferson Stiven Trullott Rivas
+ * @author Juan Carlos Fuentes
+ * @version 1.0
+ */
+public class GeneradorExcavacion {
+
+    /**
+     * Pasadas completas que se intentan para dejar exactamente las pistas pedidas por bloque.
+     */
+    private static final int MAX_PASADAS = 4;
+
+    private final Geometria geometria;
+    private RandomGenerator random;
+
+    /**
+     * Orden aleatorio de las celdas, reservado una sola vez.
+     */
+    private final int[] orden;
+
+    /**
+     * Pistas que quedan en cada bloque durante una pasada.
+     */
+    private final int[] pistasBloque;
+
+    /**
+     * Tablero de trabajo de la pasada actual.
+     */
+    private final int[][] trabajo;
+
+    /**
+     * Comprobaciones de unicidad hechas en la última llamada a {@link #excavar}.
+     */
+    private int comprobaciones;
+
+    /**
+     * Pasadas usadas en la última llamada a {@link #excavar}.
+     */
+    private int pasadas;
+
+    /**
+     * Si la última llamada consiguió dejar exactamente las pistas pedidas en cada bloque.
+     */
+    private boolean limiteCumplido;
+
+    /**
+     * Momento ({@link System#nanoTime()}) en que vence el plazo, si {@code conPlazo}.
+     */
+    private long fin;
+    private boolean conPlazo;
+
+    /**
+     * Se ejecuta en cada llamada a {@link #vencido()}, o null.
+     */
+    private Runnable revision;
+
+    /**
+     * Si la última llamada a {@link #excavar} se cortó por el plazo.
+     */
+    private boolean plazoVencido;
+
+    /**
+     * @param geometria la forma del tablero.
+     * @param random generador aleatorio para el orden de las celdas.
+     */
+    public GeneradorExcavacion(Geometria geometria, RandomGenerator random) {
+        this.geometria = geometria;
+        this.random = random;
+        this.orden = new int[geometria.getCeldas()];
+        this.pistasBloque = new int[geometria.getSize()];
+        this.trabajo = new int[geometria.getSize()][geometria.getSize()];
+    }
+
+    /**
+     * Cambia el flujo aleatorio, por ejemplo al generar un juego a partir de su identificador.
+     *
+     * @param random el generador aleatorio para las siguientes excavaciones.
+     */
+    void usarFlujo(RandomGenerator random) {
+        this.random = random;
+    }
+
+    /**
+     * Limita las siguientes excavaciones hasta un momento dado.
+     *
+     * @param fin el momento, según {@link System#nanoTime()}, en que se deja de excavar.
+     */
+    void setPlazo(long fin) {
+        this.fin = fin;
+        this.conPlazo = true;
+    }
+
+    /**
+     * Vuelve a excavar sin plazo.
+     */
+    void quitarPlazo() {
+        this.conPlazo = false;
+    }
+
+    /**
+     * @param revision se ejecuta en cada revisión del plazo, antes de cada celda y de cada
+     * alternativa; la usa {@link JuegoSudoku} para informar el avance. Null para ninguna.
+     */
+    void setRevision(Runnable revision) {
+        this.revision = revision;
+    }
+
+    /**
+     * @return true si hay un plazo puesto con {@link #setPlazo}.
+     */
+    boolean tienePlazo() {
+        return conPlazo;
+    }
+
+    /**
+     * Revisa si venció el plazo o se interrumpió el hilo, y lo recuerda para la llamada actual.
+     *
+     * @return true si hay que dejar de excavar.
+     */
+    boolean vencido() {
+        if (revision != null) {
+            revision.run();
+        }
+        if (!plazoVencido && conPlazo
+                && (System.nanoTime() - fin >= 0 || Thread.currentThread().isInterrupted())) {
+            plazoVencido = true;
+        }
+        return plazoVencido;
+    }
+
+    /**
+     * Genera un tablero inicial con solución única a partir de un tablero resuelto.
+     *
+     * @param solucion el tablero resuelto, no se modifica.
+     * @param pistasPorBloque pistas mínimas que se dejan en cada bloque; 0 para excavar sin
+     *                        restricción por bloques.
+     * @param contador el algoritmo usado para buscar soluciones alternativas.
+     * @return un tablero con 0 en las celdas vacías y solución única.
+     */
+    public Tablero excavar(int[][] solucion, int pistasPorBloque, ContadorSoluciones contador) {
+        return excavar(solucion, pistasPorBloque, contador, null, null);
+    }
+
+    /**
+     * Genera un tablero inicial con solución única, limitando opcionalmente las técnicas
+     * necesarias para resolverlo.
+     *
+     * @param solucion el tablero resuelto, no se modifica.
+     * @param pistasPorBloque pistas mínimas que se dejan en cada bloque; 0 para excavar sin
+     *                        restricción por bloques.
+     * @param contador el algoritmo usado para buscar soluciones alternativas si no hay límite de técnica.
+     * @param logico el solucionador por técnicas, o null para comprobar la unicidad con {@code contador}.
+     * @param maxima la dificultad máxima de las técnicas permitidas cuando se usa {@code logico}.
+     * @return un tablero con 0 en las celdas vacías y solución única.
+     */
+    public Tablero excavar(int[][] solucion, int pistasPorBloque, ContadorSoluciones contador,
+                           SolucionadorLogico logico, Dificultad maxima) {
+        int size = geometria.getSize();
+        Tablero mejor = null;
+        int menosPistas = Integer.MAX_VALUE;
+        comprobaciones = 0;
+        limiteCumplido = false;
+        plazoVencido = false;
+
+        for (int pasada = 1; pasada <= MAX_PASADAS; pasada++) {
+            pasadas = pasada;
+            int pistas = excavarPasada(solucion, pistasPorBloque, contador, logico, maxima);
+            if (pistas < menosPistas) {
+                menosPistas = pistas;
+                mejor = Tablero.de(geometria, trabajo);
+            }
+            // Con restricción por bloques se termina cuando todos quedan con las pistas pedidas
+            limiteCumplido = pistasPorBloque == 0 || pistas == pistasPorBloque * size;
+            if (limiteCumplido || vencido()) {
+                break;
+            }
+        }
+        return mejor;
+    }
+
+    /**
+     * Hace una pasada de excavación sobre el tablero de trabajo.
+     *
+     * @return el número de pistas que quedaron.
+     */
+    private int excavarPasada(int[][] solucion, int pistasPorBloque, ContadorSoluciones contador,
+                              SolucionadorLogico logico, Dificultad maxima) {
+        int size = geometria.getSize();
+        for (int f = 0; f < size; f++) {
+            System.arraycopy(solucion[f], 0, trabajo[f], 0, size);
+        }
+        for (int b = 0; b < size; b++) {
+            pistasBloque[b] = size;
+        }
+        int pistas = geometria.getCeldas();
+
+        // Fisher-Yates desde el orden natural sobre el arreglo reutilizado
+        for (int i = 0; i < orden.length; i++) {
+            orden[i] = i;
+        }
+        for (int i = orden.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int temp = orden[j];
+            orden[j] = orden[i];
+            orden[i] = temp;
+        }
+
+        for (int celda : orden) {
+            if (vencido()) {
+                break;
+            }
+            int bloque = geometria.bloqueDe[celda];
+            if (pistasPorBloque > 0 && pistasBloque[bloque] <= pistasPorBloque) {
+                continue;
+            }
+            int fila = geometria.filaDe[celda];
+            int colum = geometria.columnaDe[celda];
+            int valor = trabajo[fila][colum];
+
+            trabajo[fila][colum] = 0;
+            boolean conservar;
+            if (logico != null) {
+                comprobaciones++;
+                conservar = !logico.resolver(trabajo, maxima);
+            } else {
+                conservar = tieneAlternativa(fila, colum, valor, contador);
+            }
+            if (conservar) {
+                trabajo[fila][colum] = valor; // quitarla haría el tablero ambiguo o más difícil
+            } else {
+                pistasBloque[bloque]--;
+                pistas--;
+            }
+        }
+        return pistas;
+    }
+
+    /**
+     * Indica si la celda vacía admite otra cifra distinta de {@code valor} que lleve a una solución.
+     * Si el plazo vence antes de descartarlas todas, se responde que sí para conservar la pista.
+     */
+    private boolean tieneAlternativa(int fila, int colum, int valor, ContadorSoluciones contador) {
+        for (int num = 1; num <= geometria.getSize(); num++) {
+            if (num == valor || !geometria.sinConflicto(trabajo, fila, colum, num)) {
+                continue;
+            }
+            if (vencido()) {
+                return true;
+            }
+            comprobaciones++;
+            trabajo[fila][colum] = num;
+            boolean resoluble;
+            try {
+                resoluble = contador.contarSoluciones(trabajo, 1) > 0;
+            } catch (CancellationException e) {
+                // Con plazo, interrumpir el hilo corta la excavación como si hubiera vencido
+                trabajo[fila][colum] = 0;
+                if (!conPlazo) {
+                    throw e;
+                }
+                plazoVencido = true;
+                return true;
+            }
+            trabajo[fila][colum] = 0;
+            if (resoluble) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return las búsquedas de solución alternativa hechas en la última generación.
+     */
+    public int getComprobaciones() {
+        return comprobaciones;
+    }
+
+    /**
+     * @return las pasadas de excavación usadas en la última generación.
+     */
+    public int getPasadas() {
+        return pasadas;
+    }
+
+    /**
+     * @return true si la última generación se cortó porque venció el plazo.
+     */
+    public boolean isPlazoVencido() {
+        return plazoVencido;
+    }
+
+    /**
+     * @return true si la última generación dejó exactamente las pistas pedidas en cada bloque.
+     */
+    public boolean isLimiteCumplido() {
+        return limiteCumplido;
+    }
+}
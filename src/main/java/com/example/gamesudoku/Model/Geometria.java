@@ -0,0 +1,232 @@
+package com.example.gamesudoku.Model;
+
+import java.util.Arrays;
+
+/**
+ * Describe la forma de un tablero de Sudoku N×N con sub bloques de R filas por C columnas
+ * (N = R·C) y precalcula las tablas que usan los solucionadores: fila, columna y bloque de
+ * cada celda, las celdas de cada bloque y los vecinos de cada celda.
+ * Cada geometría tiene sus propias tablas, así un tablero grande no recorre filas y bloques
+ * con ciclos genéricos en el camino crítico.
+ * Las celdas se identifican con un índice plano {@code fila * size + columna}.
+ *
+ * @author Jeferson Stiven Trullott Rivas
+ * @author Juan Carlos Fuentes
+ * @version 1.0
+ */
+public final class Geometria {
+
+    /**
+     * Tablero 4x4 con bloques 2x2.
+     */
+    public static final Geometria G4X4 = new Geometria(2, 2, 2);
+
+    /**
+     * Tablero 6x6 con bloques 2x3, el del juego original.
+     */
+    public static final Geometria G6X6 = new Geometria(2, 3, 2);
+
+    /**
+     * Tablero 9x9 clásico con bloques 3x3.
+     */
+    public static final Geometria G9X9 = new Geometria(3, 3, 4);
+
+    /**
+     * Tablero 12x12 con bloques 3x4.
+     */
+    public static final Geometria G12X12 = new Geometria(3, 4, 6);
+
+    /**
+     * Tablero 16x16 con bloques 4x4.
+     */
+    public static final Geometria G16X16 = new Geometria(4, 4, 9);
+
+    private final int size;
+    private final int subFila;
+    private final int subColumna;
+    private final int celdas;
+    private final int pistasPorBloque;
+
+    /**
+     * Máscara con todos los números posibles (bits 1 a size encendidos).
+     */
+    final int todos;
+
+    /**
+     * Fila, columna y bloque de cada celda.
+     */
+    final int[] filaDe;
+    final int[] columnaDe;
+    final int[] bloqueDe;
+
+    /**
+     * Para cada celda, las celdas con las que comparte fila, columna o bloque (sin repetir).
+     */
+    final int[][] vecinos;
+
+    /**
+     * Para cada bloque, los índices de sus celdas.
+     */
+    final int[][] celdasBloque;
+
+    /**
+     * Las celdas de cada unidad: las filas son las unidades 0 a size - 1, las columnas las
+     * siguientes size y los bloques las últimas size.
+     */
+    final int[][] unidades;
+
+    /**
+     * Crea una geometría y precalcula sus tablas.
+     *
+     * @param subFila número de filas de cada sub bloque.
+     * @param subColumna número de columnas de cada sub bloque.
+     * @param pistasPorBloque pistas que se dejan por bloque al crear un tablero inicial.
+     */
+    public Geometria(int subFila, int subColumna, int pistasPorBloque) {
+        if (subFila < 1 || subColumna < 1 || subFila * subColumna > 16) {
+            throw new IllegalArgumentException("Geometría no soportada: " + subFila + "x" + subColumna);
+        }
+        this.subFila = subFila;
+        this.subColumna = subColumna;
+        this.size = subFila * subColumna;
+        this.celdas = size * size;
+        this.pistasPorBloque = pistasPorBloque;
+        this.todos = ((1 << size) - 1) << 1;
+
+        filaDe = new int[celdas];
+        columnaDe = new int[celdas];
+        bloqueDe = new int[celdas];
+        celdasBloque = new int[size][size];
+        vecinos = new int[celdas][];
+        unidades = new int[3 * size][size];
+
+        int[] llenado = new int[size];
+        for (int celda = 0; celda < celdas; celda++) {
+            int fila = celda / size;
+            int colum = celda % size;
+            int bloque = (fila / subFila) * (size / subColumna) + colum / subColumna;
+            filaDe[celda] = fila;
+            columnaDe[celda] = colum;
+            bloqueDe[celda] = bloque;
+            celdasBloque[bloque][llenado[bloque]++] = celda;
+            unidades[fila][colum] = celda;
+            unidades[size + colum][fila] = celda;
+        }
+        System.arraycopy(celdasBloque, 0, unidades, 2 * size, size);
+        int[] temporal = new int[celdas];
+        for (int celda = 0; celda < celdas; celda++) {
+            int total = 0;
+            for (int otra = 0; otra < celdas; otra++) {
+                if (otra != celda && (filaDe[otra] == filaDe[celda]
+                        || columnaDe[otra] == columnaDe[celda]
+                        || bloqueDe[otra] == bloqueDe[celda])) {
+                    temporal[total++] = otra;
+                }
+            }
+            vecinos[celda] = Arrays.copyOf(temporal, total);
+        }
+    }
+
+    /**
+     * Busca una de las geometrías predefinidas por su tamaño.
+     *
+     * @param size el tamaño del tablero (4, 6, 9, 12 o 16).
+     * @return la geometría correspondiente.
+     */
+    public static Geometria de(int size) {
+        switch (size) {
+            case 4: return G4X4;
+            case 6: return G6X6;
+            case 9: return G9X9;
+            case 12: return G12X12;
+            case 16: return G16X16;
+            default: throw new IllegalArgumentException("Tamaño no soportado: " + size);
+        }
+    }
+
+    /**
+     * Busca la geometría con sub bloques de las dimensiones indicadas, reutilizando las
+     * predefinidas cuando coinciden.
+     *
+     * @param subFila número de filas de cada sub bloque.
+     * @param subColumna número de columnas de cada sub bloque.
+     * @return la geometría correspondiente.
+     */
+    public static Geometria de(int subFila, int subColumna) {
+        for (Geometria geometria : new Geometria[]{G4X4, G6X6, G9X9, G12X12, G16X16}) {
+            if (geometria.subFila == subFila && geometria.subColumna == subColumna) {
+                return geometria;
+            }
+        }
+        return new Geometria(subFila, subColumna, 0);
+    }
+
+    /**
+     * Verifica si un número en una celda se repite en alguna celda vecina de un tablero,
+     * recorriendo solo la tabla precalculada de vecinos.
+     *
+     * @param tablero el tablero a revisar.
+     * @param fila la fila de la celda.
+     * @param colum la columna de la celda.
+     * @param num el número a validar.
+     * @return true si ninguna celda vecina tiene el mismo número.
+     */
+    public boolean sinConflicto(int[][] tablero, int fila, int colum, int num) {
+        for (int vecino : vecinos[fila * size + colum]) {
+            if (tablero[filaDe[vecino]][columnaDe[vecino]] == num) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return el tamaño del tablero (número de filas y de columnas).
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return el número de filas de cada sub bloque.
+     */
+    public int getSubFila() {
+        return subFila;
+    }
+
+    /**
+     * @return el número de columnas de cada sub bloque.
+     */
+    public int getSubColumna() {
+        return subColumna;
+    }
+
+    /**
+     * @return el número total de celdas del tablero.
+     */
+    public int getCeldas() {
+        return celdas;
+    }
+
+    /**
+     * @return las pistas que se dejan por bloque al crear un tablero inicial.
+     */
+    public int getPistasPorBloque() {
+        return pistasPorBloque;
+    }
+
+    /**
+     * Indica si conviene ramificar por la celda con menos candidatos. En tableros de hasta
+     * 6x6 el árbol es tan pequeño que revisar todas las celdas cuesta más de lo que poda.
+     *
+     * @return true para tableros de 9x9 en adelante.
+     */
+    public boolean usaCeldaMasRestringida() {
+        return size > 6;
+    }
+
+    @Override
+    public String toString() {
+        return size + "x" + size + " (" + subFila + "x" + subColumna + ")";
+    }
+}
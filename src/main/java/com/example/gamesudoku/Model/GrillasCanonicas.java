@@ -0,0 +1,136 @@
+package com.example.gamesudoku.Model;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Tabla de las 49 grillas 6x6 esencialmente distintas: cualquier tablero resuelto 6x6 se
+ * obtiene de una de ellas con una {@link Simetria}. Con la tabla, generar un tablero resuelto
+ * es elegir una grilla y aplicarle una transformación al azar, en tiempo constante y sin
+ * backtracking.
+ * <p>
+ * La tabla se calculó aparte recorriendo los 39.168 tableros 6x6 con la primera fila
+ * 123456 y quedándose, para cada uno, con la menor forma bajo las 3.456 permutaciones de
+ * filas y columnas (renombrando los números para que la primera fila vuelva a ser 123456).
+ * Cada grilla guarda sus 36 celdas empaquetadas a 3 bits (valor - 1) en dos long, filas 0 a 2
+ * y filas 3 a 5, y su peso: cuántos de esos 39.168 tableros le corresponden. Se elige la
+ * grilla en proporción a su peso, así que el tablero resultante es uniforme entre los
+ * 28.200.960 tableros 6x6 posibles.
+ *
+ * @author Jeferson Stiven Trullott Rivas
+ * @author Juan Carlos Fuentes
+ * @version 1.0
+ */
+public final class GrillasCanonicas {
+
+    /**
+     * Grillas canónicas: dos long con las celdas empaquetadas y el peso de la grilla.
+     */
+    private static final long[][] GRILLAS = {
+            {0x254C14458EC688L, 0x0285D2E851832AL, 432},
+            {0x254C14458EC688L, 0x0A81D0E951832AL, 864},
+            {0x254C14458EC688L, 0x038552A871832AL, 144},
+            {0x254C14458EC688L, 0x0A81D62950332AL, 1728},
+            {0x254C14458EC688L, 0x188552A870332AL, 1728},
+            {0x254C14458EC688L, 0x0AA1C621A83315L, 864},
+            {0x22AC14458EC688L, 0x1885535070332AL, 864},
+            {0x22AC14458EC688L, 0x0346C360698315L, 288},
+            {0x22AC14458EC688L, 0x0B42C161698315L, 864},
+            {0x22AC14458EC688L, 0x1846C360683315L, 1728},
+            {0x22AC14458EC688L, 0x0D41C621A83315L, 1728},
+            {0x1D8114458EC688L, 0x0851D8E90822ECL, 48},
+            {0x1D8114458EC688L, 0x2045D2EC0822ECL, 432},
+            {0x1D8114458EC688L, 0x0231D8E90884ECL, 576},
+            {0x1D8114458EC688L, 0x022EC8E908851DL, 144},
+            {0x23A114458EC688L, 0x0231D7610884ECL, 48},
+            {0x23A114458EC688L, 0x0285D74C0884ECL, 432},
+            {0x23A114458EC688L, 0x084EC76108231DL, 48},
+            {0x23A114458EC688L, 0x1846C36308231DL, 432},
+            {0x058D14458EC688L, 0x2045D2EC09A22CL, 144},
+            {0x058D14458EC688L, 0x2344522C69A22CL, 144},
+            {0x058D14458EC688L, 0x1A30582968B42CL, 1728},
+            {0x058D14458EC688L, 0x1A22C82968B505L, 432},
+            {0x20AD14458EC688L, 0x0285D74C08B42CL, 288},
+            {0x254C12858EC688L, 0x11A1C0E1A98315L, 1728},
+            {0x254C12858EC688L, 0x10A5C660A83315L, 3456},
+            {0x158C12858EC688L, 0x0346C868698315L, 1728},
+            {0x158C12858EC688L, 0x1846C868683315L, 288},
+            {0x158C12858EC688L, 0x1942C829683315L, 864},
+            {0x1D5012858EC688L, 0x232154297018EAL, 1728},
+            {0x1D5012858EC688L, 0x1322C8296818D5L, 864},
+            {0x1D5012858EC688L, 0x10A5C8C8A818D5L, 288},
+            {0x13B012858EC688L, 0x198151517202EAL, 1728},
+            {0x13B012858EC688L, 0x2045D7485018EAL, 1728},
+            {0x13B012858EC688L, 0x1942C1616A02D5L, 864},
+            {0x13B012858EC688L, 0x0545C660AA02D5L, 288},
+            {0x1D8112858EC688L, 0x0151D8E90902ECL, 288},
+            {0x1D8112858EC688L, 0x2344506C6902ECL, 864},
+            {0x1D8112858EC688L, 0x1031D8E90814ECL, 288},
+            {0x1D8112858EC688L, 0x133058296814ECL, 864},
+            {0x1D8112858EC688L, 0x014EC8E909031DL, 288},
+            {0x1D8112858EC688L, 0x0346C86B09031DL, 864},
+            {0x1D8112858EC688L, 0x102EC8E908151DL, 288},
+            {0x1D8112858EC688L, 0x13A4480BA8151DL, 864},
+            {0x03B112858EC688L, 0x1D44480BA9181DL, 1728},
+            {0x158C108D8EC688L, 0x2045D2E851912AL, 864},
+            {0x1D81108D8EC688L, 0x1111D8E90884ECL, 96},
+            {0x23A1108D8EC688L, 0x0851D7610910ECL, 96},
+            {0x23A1108D8EC688L, 0x110EC76108851DL, 96}
+    };
+
+    /**
+     * Suma de los pesos: tableros 6x6 con la primera fila 123456.
+     */
+    private static final int PESO_TOTAL = 39168;
+
+    private GrillasCanonicas() {
+    }
+
+    /**
+     * @param geometria la forma del tablero.
+     * @return true si hay tabla de grillas para esa geometría (solo 6x6 con bloques 2x3).
+     */
+    public static boolean soporta(Geometria geometria) {
+        return geometria.getSubFila() == 2 && geometria.getSubColumna() == 3;
+    }
+
+    /**
+     * @return el número de grillas esencialmente distintas de la tabla.
+     */
+    public static int getCantidad() {
+        return GRILLAS.length;
+    }
+
+    /**
+     * Escribe una grilla canónica.
+     *
+     * @param indice la grilla, de 0 a {@link #getCantidad()} - 1.
+     * @param destino el tablero 6x6 donde se escribe.
+     */
+    public static void leer(int indice, int[][] destino) {
+        long[] grilla = GRILLAS[indice];
+        for (int celda = 0; celda < 36; celda++) {
+            long bits = celda < 18 ? grilla[0] >>> (3 * celda) : grilla[1] >>> (3 * (celda - 18));
+            destino[celda / 6][celda % 6] = (int) (bits & 7) + 1;
+        }
+    }
+
+    /**
+     * Genera un tablero 6x6 resuelto al azar, uniforme entre todos los posibles.
+     *
+     * @param random el generador aleatorio.
+     * @param simetria la transformación que se reutiliza; se mezcla de nuevo.
+     * @param auxiliar un tablero 6x6 de trabajo.
+     * @param destino el tablero 6x6 donde se escribe el resultado, distinto de {@code auxiliar}.
+     */
+    public static void grillaAleatoria(RandomGenerator random, Simetria simetria, int[][] auxiliar, int[][] destino) {
+        int elegido = random.nextInt(PESO_TOTAL);
+        int indice = 0;
+        while (elegido >= GRILLAS[indice][2]) {
+            elegido -= (int) GRILLAS[indice][2];
+            indice++;
+        }
+        leer(indice, auxiliar);
+        simetria.mezclar(random);
+        simetria.aplicar(auxiliar, destino);
+    }
+}
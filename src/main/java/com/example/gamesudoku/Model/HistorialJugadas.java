@@ -0,0 +1,245 @@
+package com.example.gamesudoku.Model;
+
+import java.util.Arrays;
+
+/**
+ * Historial de las jugadas de una partida, para deshacer, rehacer y saltar a cualquier jugada.
+ * <p>
+ * Cada jugada se guarda como un solo {@code int} (la celda, el valor que tenía, el valor nuevo
+ * y si fue una ayuda) en un arreglo que crece al doble cuando se llena, así que el historial no
+ * tiene límite y cuesta 4 bytes por jugada. Cada {@link #JUGADAS_POR_INSTANTANEA} jugadas se
+ * guarda además el {@link Tablero} empaquetado de ese momento; como los tableros son
+ * inmutables, las instantáneas se comparten sin copiarse. Para llegar a una jugada cualquiera
+ * se parte de la instantánea anterior y se aplican a lo sumo
+ * {@link #JUGADAS_POR_INSTANTANEA} - 1 jugadas, sin importar lo largo que sea el historial.
+ * <p>
+ * Una jugada nueva después de deshacer descarta las jugadas que se podían rehacer.
+ * No es seguro entre hilos; lo usa el hilo de la vista.
+ *
+ * @author Jeferson Stiven Trullott Rivas
+ * @author Juan Carlos Fuentes
+ * @version 1.0
+ */
+public class HistorialJugadas {
+
+    /**
+     * Jugadas entre dos instantáneas del tablero.
+     */
+    public static final int JUGADAS_POR_INSTANTANEA = 64;
+
+    /**
+     * Disposición de una jugada empaquetada: valor nuevo en los bits 0-5, valor anterior en
+     * los bits 6-11, celda desde el bit 12 y el bit 30 si fue una ayuda.
+     */
+    private static final int BITS_VALOR = 6;
+    private static final int MASCARA_VALOR = (1 << BITS_VALOR) - 1;
+    private static final int DESPLAZAMIENTO_CELDA = 2 * BITS_VALOR;
+    private static final int MASCARA_CELDA = (1 << 18) - 1;
+    private static final int PISTA = 1 << 30;
+
+    private final Geometria geometria;
+
+    /**
+     * Valores del tablero en la jugada actual; se actualiza una celda por jugada.
+     */
+    private final int[] valores;
+
+    private int[] jugadas = new int[JUGADAS_POR_INSTANTANEA];
+
+    /**
+     * Tablero después de {@code k * JUGADAS_POR_INSTANTANEA} jugadas, en la posición k.
+     */
+    private Tablero[] instantaneas = new Tablero[4];
+
+    /**
+     * Jugadas guardadas, incluidas las que se pueden rehacer.
+     */
+    private int total;
+
+    /**
+     * Jugadas aplicadas; las que van de aquí a {@link #total} se pueden rehacer.
+     */
+    private int actual;
+
+    /**
+     * @param inicial el tablero con el que empieza la partida.
+     */
+    public HistorialJugadas(Tablero inicial) {
+        this.geometria = inicial.getGeometria();
+        this.valores = new int[geometria.getCeldas()];
+        for (int celda = 0; celda < valores.length; celda++) {
+            valores[celda] = inicial.get(celda);
+        }
+        instantaneas[0] = inicial;
+    }
+
+    /**
+     * Guarda una jugada y descarta las que se podían rehacer.
+     *
+     * @param celda el índice plano de la celda.
+     * @param nuevo el número que quedó en la celda, o 0 si se borró.
+     * @param pista true si la jugada es una ayuda.
+     * @return false si la celda ya tenía ese número y no se guardó nada.
+     */
+    public boolean registrar(int celda, int nuevo, boolean pista) {
+        int anterior = valores[celda];
+        if (anterior == nuevo) {
+            return false;
+        }
+        if (actual == jugadas.length) {
+            jugadas = Arrays.copyOf(jugadas, jugadas.length * 2);
+        }
+        jugadas[actual++] = celda << DESPLAZAMIENTO_CELDA | anterior << BITS_VALOR | nuevo
+                | (pista ? PISTA : 0);
+        total = actual;
+        valores[celda] = nuevo;
+
+        if (actual % JUGADAS_POR_INSTANTANEA == 0) {
+            int k = actual / JUGADAS_POR_INSTANTANEA;
+            if (k == instantaneas.length) {
+                instantaneas = Arrays.copyOf(instantaneas, k * 2);
+            }
+            instantaneas[k] = Tablero.de(geometria, valores);
+        }
+        return true;
+    }
+
+    /**
+     * @return true si hay una jugada que deshacer.
+     */
+    public boolean puedeDeshacer() {
+        return actual > 0;
+    }
+
+    /**
+     * @return true si hay una jugada deshecha que rehacer.
+     */
+    public boolean puedeRehacer() {
+        return actual < total;
+    }
+
+    /**
+     * Retrocede una jugada. Quien llama debe poner {@link #anteriorDe} en {@link #celdaDe}.
+     *
+     * @return la jugada deshecha, empaquetada.
+     * @throws IllegalStateException si no hay jugadas que deshacer.
+     */
+    public int deshacer() {
+        if (actual == 0) {
+            throw new IllegalStateException("No hay jugadas que deshacer");
+        }
+        int jugada = jugadas[--actual];
+        valores[celdaDe(jugada)] = anteriorDe(jugada);
+        return jugada;
+    }
+
+    /**
+     * Vuelve a aplicar la última jugada deshecha. Quien llama debe poner {@link #nuevoDe} en
+     * {@link #celdaDe}.
+     *
+     * @return la jugada rehecha, empaquetada.
+     * @throws IllegalStateException si no hay jugadas que rehacer.
+     */
+    public int rehacer() {
+        if (actual == total) {
+            throw new IllegalStateException("No hay jugadas que rehacer");
+        }
+        int jugada = jugadas[actual++];
+        valores[celdaDe(jugada)] = nuevoDe(jugada);
+        return jugada;
+    }
+
+    /**
+     * Calcula el tablero después de un número de jugadas, sin mover la jugada actual.
+     *
+     * @param jugada las jugadas aplicadas, entre 0 y {@link #getTotal()}.
+     * @return el tablero en ese momento.
+     */
+    public Tablero getTablero(int jugada) {
+        if (jugada < 0 || jugada > total) {
+            throw new IndexOutOfBoundsException("Jugada " + jugada + " fuera del historial de " + total);
+        }
+        int k = jugada / JUGADAS_POR_INSTANTANEA;
+        int desde = k * JUGADAS_POR_INSTANTANEA;
+        if (desde == jugada) {
+            return instantaneas[k];
+        }
+        int[] destino = new int[valores.length];
+        reconstruir(k, jugada, destino);
+        return Tablero.de(geometria, destino);
+    }
+
+    /**
+     * Salta a una jugada; las posteriores se pueden rehacer hasta que se registre otra.
+     *
+     * @param jugada las jugadas aplicadas, entre 0 y {@link #getTotal()}.
+     * @return el tablero en esa jugada.
+     */
+    public Tablero irA(int jugada) {
+        Tablero tablero = getTablero(jugada);
+        for (int celda = 0; celda < valores.length; celda++) {
+            valores[celda] = tablero.get(celda);
+        }
+        actual = jugada;
+        return tablero;
+    }
+
+    /**
+     * Escribe en {@code destino} la instantánea k más las jugadas que faltan hasta {@code jugada}.
+     */
+    private void reconstruir(int k, int jugada, int[] destino) {
+        Tablero base = instantaneas[k];
+        for (int celda = 0; celda < destino.length; celda++) {
+            destino[celda] = base.get(celda);
+        }
+        for (int i = k * JUGADAS_POR_INSTANTANEA; i < jugada; i++) {
+            destino[celdaDe(jugadas[i])] = nuevoDe(jugadas[i]);
+        }
+    }
+
+    /**
+     * @return las jugadas aplicadas.
+     */
+    public int getActual() {
+        return actual;
+    }
+
+    /**
+     * @return las jugadas guardadas, incluidas las que se pueden rehacer.
+     */
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * @param jugada una jugada empaquetada.
+     * @return el índice plano de su celda.
+     */
+    public static int celdaDe(int jugada) {
+        return jugada >>> DESPLAZAMIENTO_CELDA & MASCARA_CELDA;
+    }
+
+    /**
+     * @param jugada una jugada empaquetada.
+     * @return el número que tenía la celda antes, o 0 si estaba vacía.
+     */
+    public static int anteriorDe(int jugada) {
+        return jugada >>> BITS_VALOR & MASCARA_VALOR;
+    }
+
+    /**
+     * @param jugada una jugada empaquetada.
+     * @return el número que quedó en la celda, o 0 si se borró.
+     */
+    public static int nuevoDe(int jugada) {
+        return jugada & MASCARA_VALOR;
+    }
+
+    /**
+     * @param jugada una jugada empaquetada.
+     * @return true si la jugada fue una ayuda.
+     */
+    public static boolean esPista(int jugada) {
+        return (jugada & PISTA) != 0;
+    }
+}
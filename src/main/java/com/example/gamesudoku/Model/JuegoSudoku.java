@@ -1,10 +1,24 @@
 package com.example.gamesudoku.Model;
 
-import java.util.*;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.CancellationException;
+import java.util.function.LongConsumer;
+import java.util.random.RandomGenerator;
 
 /**
  * Clase encargada de manejar la lógica del juego, generación del tablero resuelto,
  * la validación de movimiento y la creación de tablero iniciales parcialmente vacios.
+ * <p>
+ * Cada juego se genera a partir de un identificador de 64 bits: con él se siembra un
+ * {@link SplittableRandom} del que salen un flujo para el tablero resuelto y otro para la
+ * excavación. El mismo identificador, con la misma geometría y la misma dificultad pedida,
+ * produce siempre el mismo juego, así que basta guardar o enviar 8 bytes para reproducirlo.
+ * <p>
+ * Los tableros entran y salen como {@link Tablero} inmutables; las matrices {@code int[][]}
+ * quedan dentro del motor como espacio de trabajo reutilizado.
  *
  * @author Jeferson Stiven Trullott Rivas
  * @author Juan Carlos Fuentes
@@ -13,121 +27,345 @@ import java.util.*;
 public class JuegoSudoku {
 
     /**
-     * Define el tamaño del tablero 6x6
+     * Forma del tablero (tamaño y sub bloques) con sus tablas precalculadas.
      */
-    private static final int SIZE = 6;
+    private final Geometria geometria;
 
     /**
-     * Define el número de filas en los Sub bloque que es de 2
+     * Define el tamaño del tablero, 6 en el juego original.
      */
-    private static final int SUB_FILA = 2;
+    private final int size;
 
     /**
-     * Define el número de columnas en los Sub bloque que es de 3
+     * Almacena la matriz del juego resuelto.
      */
-    private static final int SUB_Columna = 3;
+    private final int[][] juegoResuelto;
 
     /**
-     * Almacena la matriz del juego resuelto.
+     * El juego resuelto empaquetado; se crea al pedirlo y se descarta al generar otro.
+     */
+    private Tablero solucion;
+
+    /**
+     * Matriz donde se desempaquetan los tableros que recibe el motor para analizarlos.
+     */
+    private final int[][] trabajo;
+
+    /**
+     * Flujo del que salen los identificadores de los juegos nuevos.
+     */
+    private final RandomGenerator semillas;
+
+    /**
+     * Flujo aleatorio del juego que se está generando, derivado de su identificador.
+     */
+    private RandomGenerator random;
+
+    /**
+     * Identificador del último juego generado.
      */
-    private int[][] juegoResuelto;
+    private long id;
 
     /**
-     * Objeto utilizado para generar tableros aleatorios.
+     * Motor de restricciones sincronizado con el tablero resuelto mientras se genera.
      */
-    private final Random random = new Random();
+    private final RestriccionesSudoku restricciones;
+
+
+    /**
+     * Orden aleatorio de números para cada nivel del backtracking, reservado una sola vez
+     * para no crear arreglos durante la búsqueda.
+     */
+    private final int[][] ordenes;
+
+    /**
+     * Pila explícita de {@link #resolver}, con el mismo índice de nivel que {@code ordenes}:
+     * la celda de cada nivel, cuántos números tiene y cuántos se probaron ya.
+     */
+    private final int[] celdasNivel;
+    private final int[] totalesNivel;
+    private final int[] probadosNivel;
+
+    /**
+     * Nodos que puede visitar cada intento de {@link #resolver} por celda del tablero antes
+     * de reiniciarse con otro orden aleatorio. Evita que un tablero grande se quede atascado.
+     */
+    private static final int PRESUPUESTO_NODOS_POR_CELDA = 64;
+
+    /**
+     * Nodos que le quedan al intento actual de generar el tablero resuelto.
+     */
+    private int nodosRestantes;
+
+    /**
+     * Nodos visitados y reinicios en la última generación del tablero resuelto.
+     */
+    private long nodosResolver;
+    private int reinicios;
+
+    /**
+     * Recibe el avance de la generación en curso, o null si nadie lo observa.
+     */
+    private LongConsumer avance;
+
+    /**
+     * Nodos del tablero resuelto en los intentos anteriores de la generación en curso, y nodos
+     * que llevaba el contador de soluciones al empezarla.
+     */
+    private long nodosResolverPrevios;
+    private long nodosConteoAntes;
+
+    /**
+     * Estrategia usada para comprobar que un tablero inicial tiene solución única.
+     */
+    private ModoSolucionador modoSolucionador = ModoSolucionador.BACKTRACKING;
+
+    /**
+     * Contador de soluciones por backtracking con máscaras.
+     */
+    private final SolucionadorBacktracking solucionadorBacktracking;
+
+    /**
+     * Solucionador de cobertura exacta, se crea solo si se usa el modo DLX.
+     */
+    private SolucionadorDLX solucionadorDLX;
+
+    /**
+     * Contador que reparte la búsqueda entre hilos, se crea solo si se usa el modo paralelo.
+     */
+    private SolucionadorParalelo solucionadorParalelo;
+
+    /**
+     * Contador sin recursión y cancelable, se crea solo si se usa el modo iterativo.
+     */
+    private SolucionadorIterativo solucionadorIterativo;
+
+    /**
+     * Generador que vacía el tablero resuelto celda por celda manteniendo la unicidad.
+     */
+    private final GeneradorExcavacion generador;
+
+    /**
+     * Si se generan los tableros resueltos transformando una grilla canónica en lugar de
+     * llenarlos por backtracking; solo aplica a geometrías con tabla de grillas (6x6).
+     */
+    private boolean usarGrillasCanonicas = true;
+
+    /**
+     * Transformación y tablero auxiliar reutilizados al generar desde las grillas canónicas.
+     */
+    private final Simetria simetria;
+    private final int[][] grillaBase;
+
+    /**
+     * Solucionador por técnicas humanas, usado para calificar los tableros y comprobar su
+     * unicidad sin búsqueda cuando la propagación alcanza.
+     */
+    private final SolucionadorLogico logico;
+
+    /**
+     * Tableros que se intentan para dar con una dificultad pedida antes de entregar el más cercano.
+     * En el 6x6 casi todo se resuelve con solitarios ocultos, así que las dificultades altas
+     * salen en uno de cada cien a doscientos tableros.
+     */
+    private static final int MAX_INTENTOS_DIFICULTAD = 1000;
+
+    /**
+     * Dificultad del último tablero inicial generado.
+     */
+    private Dificultad dificultad;
+
+    /**
+     * Tableros generados en la última llamada a {@link #generarNuevoTablero(Dificultad)}.
+     */
+    private int intentos;
 
     /**
      * Constructo de la clase
-     * Inicializa la matriz del tablero resuelto.
+     * Inicializa la matriz del tablero resuelto para el tablero 6x6 original.
      */
     public JuegoSudoku() {
-        juegoResuelto = new int[SIZE][SIZE];
+        this(Geometria.G6X6);
+    }
+
+    /**
+     * Inicializa el juego para una geometría de tablero cualquiera.
+     *
+     * @param geometria la forma del tablero (4x4, 6x6, 9x9, 12x12 o 16x16).
+     */
+    public JuegoSudoku(Geometria geometria) {
+        this(geometria, new SplittableRandom());
+    }
+
+    /**
+     * Inicializa el juego con un generador aleatorio propio, por ejemplo uno distinto por
+     * hilo para generar en paralelo sin compartir estado.
+     *
+     * @param geometria la forma del tablero.
+     * @param semillas el generador del que salen los identificadores de los juegos nuevos.
+     */
+    public JuegoSudoku(Geometria geometria, RandomGenerator semillas) {
+        this.geometria = geometria;
+        this.semillas = semillas;
+        this.random = semillas;
+        this.size = geometria.getSize();
+        juegoResuelto = new int[size][size];
+        trabajo = new int[size][size];
+        restricciones = new RestriccionesSudoku(geometria);
+        ordenes = new int[geometria.getCeldas()][size];
+        celdasNivel = new int[geometria.getCeldas()];
+        totalesNivel = new int[geometria.getCeldas()];
+        probadosNivel = new int[geometria.getCeldas()];
+        solucionadorBacktracking = new SolucionadorBacktracking(geometria);
+        generador = new GeneradorExcavacion(geometria, semillas);
+        generador.setRevision(this::avisarAvance);
+        logico = new SolucionadorLogico(geometria);
+        simetria = new Simetria(geometria);
+        grillaBase = new int[size][size];
     }
 
     /**
      * Inicia el proceso de resolución de juego.
-     * Limpia el tablero, lo llena de ceros y luego llama al método de backtracking para encontrar la solución.
+     * En el 6x6 transforma al azar una de las grillas canónicas, en tiempo constante; en las
+     * demás geometrías limpia el tablero, lo llena de ceros y luego llama al método de
+     * backtracking para encontrar la solución.
      * @return boolean true si pudo resolver el juego y false si no tiene solución.
      */
     public boolean sudokuResuelto() {
-        for (int[] row : juegoResuelto) {
-            Arrays.fill(row, 0);
+        solucion = null;
+        nodosResolverPrevios += nodosResolver;
+        nodosResolver = 0;
+        reinicios = 0;
+        if (usarGrillasCanonicas && GrillasCanonicas.soporta(geometria)) {
+            GrillasCanonicas.grillaAleatoria(random, simetria, grillaBase, juegoResuelto);
+            return true;
+        }
+        while (true) {
+            for (int[] row : juegoResuelto) {
+                Arrays.fill(row, 0);
+            }
+            restricciones.limpiar();
+            nodosRestantes = PRESUPUESTO_NODOS_POR_CELDA * geometria.getCeldas();
+            if (resolver(geometria.getCeldas())) {
+                return true;
+            }
+            // Sin presupuesto agotado el tablero de verdad no tiene solución; si se agotó,
+            // se reinicia con otro orden aleatorio en vez de seguir en una rama mala.
+            if (nodosRestantes > 0) {
+                return false;
+            }
+            reinicios++;
         }
-        return resolver(0, 0);
     }
 
     /**
+     * Llena el tablero resuelto por backtracking con números en orden aleatorio, sin
+     * recursión: cada nivel de la búsqueda guarda su estado en {@code ordenes},
+     * {@code celdasNivel}, {@code totalesNivel} y {@code probadosNivel}, así que la pila del
+     * hilo no crece con el tamaño del tablero. Recorre los nodos en el mismo orden que la
+     * versión recursiva, con los mismos números aleatorios.
+     * Cada {@link SolucionadorIterativo#NODOS_POR_REVISION} nodos revisa si se interrumpió el
+     * hilo, salvo en una generación con plazo.
      *
-     * @param fila la Fila que se está procesando
-     * @param colum la Columna que se está procesando
+     * @param pendientes el número de celdas que faltan por llenar
      * @return true si se ha completado correctamente y false si no y quiere generar otro tablero
+     * @throws CancellationException si se interrumpe el hilo y la generación no tiene plazo.
      */
-    private boolean resolver(int fila, int colum) {
-        // caso base: se ha completado la ultima fila
-        if (fila == SIZE) {
+    private boolean resolver(int pendientes) {
+        // caso base: se han llenado todas las celdas
+        if (pendientes == 0) {
             return true;
         }
-
-        //determina la siguiente cela a procesar.
-        int nextFila = (colum == SIZE - 1) ? fila + 1 : fila;
-        int nextColum = (colum == SIZE - 1) ? 0 : colum + 1;
-
-        //si la celda ya tiene valor, pasa a la siguiente.
-        if (juegoResuelto[fila][colum] != 0) {
-            return resolver(nextFila, nextColum);
+        int raiz = pendientes - 1;
+        if (!abrirNivel(raiz, 0)) {
+            return false;
         }
-
-        //Genera números posibles, para mezclar aleatoriamente.
-        int[] numbers = {1, 2, 3, 4, 5, 6};
-        mezclarLista(numbers);
-
-        //coloca los números mezclados
-        for (int num : numbers) {
-            if (esValido(fila, colum,num)){
-                juegoResuelto[fila][colum] = num;
-                if (resolver(nextFila, nextColum)) {
-                    return true;
-                }
-                // si no se encuentra una solución se retrocede al backtrack
+        int nivel = raiz;
+        while (true) {
+            int celda = celdasNivel[nivel];
+            int fila = geometria.filaDe[celda];
+            int colum = geometria.columnaDe[celda];
+            int[] numbers = ordenes[nivel];
+            int probados = probadosNivel[nivel];
+
+            // si el número anterior no llevó a una solución se retrocede
+            if (probados > 0) {
+                restricciones.quitar(celda, numbers[probados - 1]);
                 juegoResuelto[fila][colum] = 0;
             }
+            if (probados == totalesNivel[nivel]) {
+                if (nivel == raiz) {
+                    return false;
+                }
+                nivel++; // vuelve al nivel anterior, que tiene una celda pendiente más
+                continue;
+            }
+
+            //coloca el siguiente número mezclado y baja a la siguiente celda
+            int num = numbers[probados];
+            probadosNivel[nivel] = probados + 1;
+            juegoResuelto[fila][colum] = num;
+            restricciones.colocar(celda, num);
+            if (nivel == 0) {
+                return true;
+            }
+            if (abrirNivel(nivel - 1, celda + 1)) {
+                nivel--;
+            }
         }
-        return false;
     }
 
     /**
-     * Verifica si es correcta la posición del número ingresado, validando
-     * La fila, la columna y el sub bloque 2x3.
+     * Abre un nivel del backtracking: elige su celda y mezcla sus números.
      *
-     * @param fila la fila a validar
-     * @param colum la columna a validar
-     * @param num el numero que se coloca
-     * @return true si el numero es valido, false si no.
-     */
-    private boolean esValido(int fila, int colum, int num) {
-       // Comprueba la fial
-        for (int c = 0; c < SIZE; c++) {
-            if (juegoResuelto[fila][c] == num)
-                return false;
-        }
-        //Comprueba la columna
-        for (int f = 0; f < SIZE; f++) {
-            if (juegoResuelto[f][colum] == num)
-                return false;
+     * @param nivel el nivel, igual a las celdas pendientes menos uno.
+     * @param desde la celda desde la que se busca la siguiente celda vacía
+     * @return false si se agotó el presupuesto o la celda no tiene candidatos.
+     */
+    private boolean abrirNivel(int nivel, int desde) {
+        if (--nodosRestantes < 0) {
+            return false;
         }
-        //Comprueba el sub bloque 2x3
-        int filaInicial = fila - fila % SUB_FILA;
-        int columInicial = colum - colum % SUB_Columna;
-        for (int f = 0; f < SUB_FILA; f++) {
-            for (int c = 0; c < SUB_Columna; c++) {
-                if (juegoResuelto[filaInicial + f][columInicial + c] == num)
-                    return false;
+        // Con plazo el tablero resuelto se termina igual: sin él no hay juego que entregar, y la
+        // excavación ve la interrupción y se corta en su primera revisión
+        if ((++nodosResolver & (SolucionadorIterativo.NODOS_POR_REVISION - 1)) == 0) {
+            avisarAvance();
+            if (!generador.tienePlazo() && Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("Generación del tablero resuelto cancelada");
             }
         }
+
+        //elige la siguiente celda vacía; si no tiene candidatos, se retrocede.
+        int celda = restricciones.siguienteCelda(juegoResuelto, desde);
+        int libres = restricciones.candidatos(celda);
+        if (libres == 0) {
+            return false;
+        }
+
+        //Copia los candidatos en el buffer del nivel, para mezclarlos aleatoriamente.
+        int[] numbers = ordenes[nivel];
+        int total = 0;
+        while (libres != 0) {
+            numbers[total++] = Integer.numberOfTrailingZeros(libres);
+            libres &= libres - 1;
+        }
+        mezclarLista(numbers, total);
+        celdasNivel[nivel] = celda;
+        totalesNivel[nivel] = total;
+        probadosNivel[nivel] = 0;
         return true;
     }
 
+    /**
+     * Informa al observador, si hay, los nodos visitados en la generación en curso.
+     */
+    private void avisarAvance() {
+        if (avance != null) {
+            avance.accept(nodosResolverPrevios + nodosResolver
+                    + contadorSoluciones().getNodos() - nodosConteoAntes);
+        }
+    }
+
     /**
      * Verifica si el número colocado cumple las reglas del sudoku.
      *
@@ -135,79 +373,44 @@ public class JuegoSudoku {
      * @param fila la fila que se va a validar.
      * @param colum la columna que se va a validar.
      * @param num el numero ingresado.
-     * @return
+     * @return true si ningún vecino de la celda tiene ya ese número.
      */
-    public boolean esMovimientoValido(int[][] tableroActual, int fila, int colum, int num) {
-
-        // Verificar Fila (ignorando la celda actual)
-        for (int c = 0; c < SIZE; c++) {
-            if (c != colum && tableroActual[fila][c] == num) {
-                return false;
-            }
-        }
-
-        // Verificar Columna (ignorando la celda actual)
-        for (int f = 0; f < SIZE; f++) {
-            if (f != fila && tableroActual[f][colum] == num) {
+    public boolean esMovimientoValido(Tablero tableroActual, int fila, int colum, int num) {
+        // Se revisan solo las celdas vecinas precalculadas (fila, columna y bloque)
+        for (int vecino : geometria.vecinos[fila * size + colum]) {
+            if (tableroActual.get(vecino) == num) {
                 return false;
             }
         }
-
-        // Verificar Subcuadrícula (Bloque 2x3, ignorando la celda actual)
-        int filaInicial = fila - fila % SUB_FILA;
-        int columInicial = colum - colum % SUB_Columna;
-        for (int f = 0; f < SUB_FILA; f++) {
-            for (int c = 0; c < SUB_Columna; c++) {
-                int currentFila = filaInicial + f;
-                int currentColum = columInicial + c;
-
-                if (currentFila != fila || currentColum != colum) {
-                    if (tableroActual[currentFila][currentColum] == num) {
-                        return false;
-                    }
-                }
-            }
-        }
         return true;
     }
 
     /**
-     * Da un número número válido para colocar en el tablero actual.
-     * @param tableroActual el tablero actual.
+     * Da el número que la lógica obliga a poner en una celda del tablero actual.
+     * Solo usa deducciones forzadas (solitarios, intersecciones y parejas), así que el número
+     * sugerido es el de la solución siempre que los números ya puestos sean correctos.
+     * @param tableroActual el tablero actual, no se modifica.
      * @param fila la celda de la fila vacia
      * @param colum la celda de la columna vacia.
-     * @return Un número válido dentro del tablero resuelto o vacío si no hay sugerencia.
+     * @return el número deducido para la celda, o vacío si las técnicas no lo alcanzan o el tablero tiene errores.
      */
-    public Optional<Integer> sugerirNumero(int[][] tableroActual, int fila, int colum) {
-        int[] numbers = {1, 2, 3, 4, 5, 6};
-
-        mezclarLista(numbers);
-
-        // Guardar el valor actual (debería ser 0)
-        int valorOriginal = tableroActual[fila][colum];
-
-        for (int num : numbers) {
-            // Se simula la colocación del número para poder usar la validación
-            tableroActual[fila][colum] = num;
-
-            //Validar
-            if (esMovimientoValido(tableroActual, fila, colum, num)) {
-                tableroActual[fila][colum] = valorOriginal; // Restaurar la celda antes de salir
-                return Optional.of(num);
-            }
-            tableroActual[fila][colum] = valorOriginal; // Restaurar la celda antes de probar el siguiente
+    public Optional<Integer> sugerirNumero(Tablero tableroActual, int fila, int colum) {
+        if (tableroActual.get(fila, colum) != 0) {
+            return Optional.empty();
         }
-
-        return Optional.empty();
+        logico.resolver(desempaquetar(tableroActual));
+        int num = logico.getValor(fila, colum);
+        return (num != 0 && !logico.hayContradiccion()) ? Optional.of(num) : Optional.empty();
     }
 
     /**
      * Mezcla aleatoriamente los elementos de la lista usando Fisher-Yates.
      *
      * @param lista el Array de enteros a mezclar
+     * @param longitud cuántos elementos del inicio del Array se mezclan
      */
-    private void mezclarLista(int[] lista) {
-        for (int i = lista.length - 1; i > 0; i--) {
+    private void mezclarLista(int[] lista, int longitud) {
+        for (int i = longitud - 1; i > 0; i--) {
             int index = random.nextInt(i + 1);
             int temp = lista[index];
             lista[index] = lista[i];
@@ -216,166 +419,318 @@ public class JuegoSudoku {
     }
 
     /**
-     * Obtiene una copia del tablero resuelto.
-     * @return int[][] una copia del tablero resuelto.
+     * Obtiene el tablero resuelto. Como es inmutable no hace falta copiarlo, y se empaqueta
+     * una sola vez por juego generado.
+     * @return el tablero resuelto.
      */
-    public int[][] getJuegoResuelto() {
-        int[][] copia = new int[SIZE][SIZE];
-        for (int i = 0; i < SIZE; i++) {
-            System.arraycopy(juegoResuelto[i], 0, copia[i], 0, SIZE);
+    public Tablero getSolucion() {
+        if (solucion == null) {
+            solucion = Tablero.de(geometria, juegoResuelto);
         }
-        return copia;
+        return solucion;
     }
 
     /**
-     * Genera una serie de tableros posibles para tomar uno que tenga solución y mostraslo.
-     * @return Un tablero inicial válido.
+     * Crea el tablero inicial a partir del tablero resuelto, quitando pistas una por una
+     * mientras el tablero siga teniendo solución única. Se intenta dejar la cantidad de
+     * pistas por bloque de la geometría (2 por bloque en el 6x6).
+     * @return Un tablero inicial con solución única.
      */
+    private Tablero excavar() {
+        return generador.excavar(juegoResuelto, geometria.getPistasPorBloque(), contadorSoluciones());
+    }
 
-    public int[][] getTableroInicial() {
-        // Intentos máximos para encontrar una configuración con solución única
-        final int MAX_ATTEMPTS = 2000;
-
-        // Obtenemos la solución completa (copia)
-        // getJuegoResuelto() ya te devuelve una copia del juegoResuelto
-        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
-            int[][] juegoinicial = getJuegoResuelto();
-
-            // Para cada bloque 2x3, barajamos sus celdas y mantenemos solo 2
-            for (int bloqueFila = 0; bloqueFila < SIZE / SUB_FILA; bloqueFila++) {
-                for (int bloquecolum = 0; bloquecolum < SIZE / SUB_Columna; bloquecolum++) {
-                    int filaInicial = bloqueFila * SUB_FILA;
-                    int columInicial = bloquecolum * SUB_Columna;
+    /**
+     * Copia un tablero en la matriz de trabajo, para los solucionadores que usan matrices.
+     */
+    private int[][] desempaquetar(Tablero tablero) {
+        tablero.copiarEn(trabajo);
+        return trabajo;
+    }
 
-                    List<int[]> bloqueceldas = new ArrayList<>();
-                    for (int f = 0; f < SUB_FILA; f++) {
-                        for (int c = 0; c < SUB_Columna; c++) {
-                            bloqueceldas.add(new int[]{filaInicial + f, columInicial + c});
-                        }
-                    }
+    /**
+     * Verifica si un tablero tiene un única solución
+     * @param tablero el tablero a evaluar.
+     * @return true si tiene una unica solución o false si no tiene o mas de una
+     */
+    public boolean tieneUnicaSolucion(Tablero tablero) {
+        int[][] matriz = desempaquetar(tablero);
+        // Si la propagación lo resuelve, cada paso fue forzado y la solución es única
+        return logico.resolver(matriz) || contadorSoluciones().contarSoluciones(matriz, 2) == 1;
+    }
 
-                    // Mezclar usando tu Random existente
-                    Collections.shuffle(bloqueceldas, random);
+    /**
+     * Cuenta cuántas soluciones tiene un tablero con el modo de solucionador elegido.
+     * @param tablero el tablero a evaluar.
+     * @param limite número de soluciones a partir del cual se deja de buscar.
+     * @return el número de soluciones, como máximo {@code limite}.
+     */
+    public int contarSoluciones(Tablero tablero, int limite) {
+        return contadorSoluciones().contarSoluciones(desempaquetar(tablero), limite);
+    }
 
-                    // Mantener solo las dos primeras posiciones del bloque; el resto se pone en 0
-                    for (int i = 2; i < bloqueceldas.size(); i++) {
-                        int f = bloqueceldas.get(i)[0];
-                        int c = bloqueceldas.get(i)[1];
-                        juegoinicial[f][c] = 0;
-                    }
-                }
+    /**
+     * @return el contador de soluciones del modo elegido.
+     */
+    private ContadorSoluciones contadorSoluciones() {
+        if (modoSolucionador == ModoSolucionador.DLX) {
+            if (solucionadorDLX == null) {
+                solucionadorDLX = new SolucionadorDLX(geometria);
             }
-
-            // Comprobar unicidad de la solución para la configuración completa
-            // (tieneUnicaSolucion ya existe en tu clase y recibe un tablero)
-            if (tieneUnicaSolucion(juegoinicial)) {
-                return juegoinicial; // perfecto: cumple 2 por bloque y solución única
+            return solucionadorDLX;
+        }
+        if (modoSolucionador == ModoSolucionador.PARALELO) {
+            if (solucionadorParalelo == null) {
+                solucionadorParalelo = new SolucionadorParalelo(geometria);
             }
-
-            // Si no es única, volvemos a intentar con otra baraja (sigue el loop)
+            return solucionadorParalelo;
         }
-
-        // Si agotamos intentos, como fallback devolvemos la última configuración generada
-        // (aunque no tenga unicidad garantizada). Si prefieres, puedes lanzar excepción.
-        // Aquí devolvemos un tablero con 2 por bloque (último intento).
-        int[][] fallback = getJuegoResuelto();
-        for (int bloqueFila = 0; bloqueFila < SIZE / SUB_FILA; bloqueFila++) {
-            for (int bloquecolum = 0; bloquecolum < SIZE / SUB_Columna; bloquecolum++) {
-                int filaInicial = bloqueFila * SUB_FILA;
-                int columInicial = bloquecolum * SUB_Columna;
-
-                List<int[]> bloqueceldas = new ArrayList<>();
-                for (int f = 0; f < SUB_FILA; f++) {
-                    for (int c = 0; c < SUB_Columna; c++) {
-                        bloqueceldas.add(new int[]{filaInicial + f, columInicial + c});
-                    }
-                }
-                Collections.shuffle(bloqueceldas, random);
-                for (int i = 2; i < bloqueceldas.size(); i++) {
-                    int f = bloqueceldas.get(i)[0];
-                    int c = bloqueceldas.get(i)[1];
-                    fallback[f][c] = 0;
-                }
+        if (modoSolucionador == ModoSolucionador.ITERATIVO) {
+            if (solucionadorIterativo == null) {
+                solucionadorIterativo = new SolucionadorIterativo(geometria);
+                solucionadorIterativo.setRevision(this::avisarAvance);
             }
+            return solucionadorIterativo;
         }
-        return fallback;
+        return solucionadorBacktracking;
     }
 
     /**
-     * Verifica si un tablero tiene un única solución
-     * @param tablero
-     * @return true si tiene una unica solución o false si no tiene o mas de una
+     * Elige cómo se generan los tableros resueltos en las geometrías con tabla de grillas.
+     * @param usarGrillasCanonicas true para transformar grillas canónicas, false para backtracking.
      */
-    private boolean tieneUnicaSolucion(int[][] tablero) {
-        return contarSoluciones(tablero, 0, 0, 0) == 1;
+    public void setUsarGrillasCanonicas(boolean usarGrillasCanonicas) {
+        this.usarGrillasCanonicas = usarGrillasCanonicas;
     }
 
     /**
-     * Cuenta cuántas soluciones válidas existen para un tablero Sudoku 6x6 dado.
-     *
-     * @param tablero El tablero actual a evaluar.
-     * @param fila Fila actual en el recorrido.
-     * @param colum Columna actual en el recorrido.
-     * @param contador Contador actual de soluciones encontradas.
-     * @return Número total de soluciones encontradas (máximo 2, ya que se corta si hay más de una)
+     * @return el generador de tableros iniciales, con los datos de la última generación.
      */
+    public GeneradorExcavacion getGenerador() {
+        return generador;
+    }
 
-    private int contarSoluciones(int[][] tablero, int fila, int colum, int contador) {
-        if (contador > 1) return contador; // más de una solución → salir
-        if (fila == SIZE) return contador + 1;
+    /**
+     * Cambia la estrategia usada para comprobar la unicidad de los tableros iniciales.
+     * @param modoSolucionador el modo a usar: backtracking, DLX, paralelo o iterativo.
+     */
+    public void setModoSolucionador(ModoSolucionador modoSolucionador) {
+        this.modoSolucionador = modoSolucionador;
+    }
 
-        int nextFila = (colum == SIZE - 1) ? fila + 1 : fila;
-        int nextColum = (colum == SIZE - 1) ? 0 : colum + 1;
+    /**
+     * @return la estrategia actual para comprobar la unicidad.
+     */
+    public ModoSolucionador getModoSolucionador() {
+        return modoSolucionador;
+    }
 
-        if (tablero[fila][colum] != 0) {
-            return contarSoluciones(tablero, nextFila, nextColum, contador);
-        }
+    /**
+     * Califica un tablero según las técnicas humanas que necesita.
+     * @param tablero el tablero a evaluar.
+     * @return su dificultad; {@link Dificultad#EXPERTO} si hace falta adivinar.
+     */
+    public Dificultad calificar(Tablero tablero) {
+        return logico.calificar(desempaquetar(tablero));
+    }
 
-        for (int num = 1; num <= SIZE; num++) {
-            if (esValidoEnTablero(tablero, fila, colum, num)) {
-                tablero[fila][colum] = num;
-                contador = contarSoluciones(tablero, nextFila, nextColum, contador);
-                tablero[fila][colum] = 0;
-            }
-        }
-        return contador;
+    /**
+     * @return la dificultad del último tablero inicial generado.
+     */
+    public Dificultad getDificultad() {
+        return dificultad;
     }
+
     /**
-     * Válida si un número puede colocarse en una celda específica de un tablero dado
-     * respetando las reglas del Sudoku (filas, columnas y sub-bloques).
-     *
-     * @param tablero Tablero en el que se quiere colocar el número.
-     * @param fila Fila de la celda.
-     * @param colum Columna de la celda.
-     * @param num Número a colocar.
-     * @return true si el número es válido en esa celda, false si no lo es.
-     */
-    private boolean esValidoEnTablero(int[][] tablero, int fila, int colum, int num) {
-        for (int c = 0; c < SIZE; c++) {
-            if (tablero[fila][c] == num) return false;
-        }
-        for (int f = 0; f < SIZE; f++) {
-            if (tablero[f][colum] == num) return false;
-        }
-        int filaInicial = fila - fila % SUB_FILA;
-        int columInicial = colum - colum % SUB_Columna;
-        for (int f = 0; f < SUB_FILA; f++) {
-            for (int c = 0; c < SUB_Columna; c++) {
-                if (tablero[filaInicial + f][columInicial + c] == num)
-                    return false;
-            }
+     * @return el identificador del último juego generado.
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Genera un juego completo: el tablero inicial y su solución.
+     * @return el juego generado, listo para entregar a otro hilo.
+     */
+    public TableroGenerado generarJuego() {
+        return generarJuego(semillas.nextLong(), null);
+    }
+
+    /**
+     * Genera un juego completo con la dificultad pedida.
+     * @param objetivo la dificultad buscada.
+     * @return el juego generado, listo para entregar a otro hilo.
+     */
+    public TableroGenerado generarJuego(Dificultad objetivo) {
+        return generarJuego(semillas.nextLong(), objetivo);
+    }
+
+    /**
+     * Vuelve a generar el juego de un identificador.
+     * @param id el identificador del juego.
+     * @param objetivo la dificultad con la que se generó, o null si fue la generación normal.
+     * @return el juego, igual cada vez que se pide con los mismos datos.
+     */
+    public TableroGenerado generarJuego(long id, Dificultad objetivo) {
+        Tablero tableroInicial = generarNuevoTablero(id, objetivo);
+        return new TableroGenerado(tableroInicial, getSolucion(), id);
+    }
+
+    /**
+     * Genera un juego sin pasar de un plazo. Al vencer (o si se interrumpe el hilo) se deja
+     * de excavar y de buscar la dificultad, y se entrega el mejor juego hasta ese momento:
+     * siempre con solución única, aunque tenga más pistas o, en el peor caso, sea el tablero
+     * resuelto completo. El tablero resuelto sí se termina siempre.
+     * @param id el identificador del juego.
+     * @param objetivo la dificultad buscada, o null para la generación normal.
+     * @param plazo el tiempo máximo de generación.
+     * @return el juego, su dificultad y si venció el plazo.
+     */
+    public ResultadoGeneracion generarJuego(long id, Dificultad objetivo, Duration plazo) {
+        return generarJuego(id, objetivo, plazo, null);
+    }
+
+    /**
+     * Genera un juego con plazo informando el avance, por ejemplo para mostrarlo mientras se
+     * espera. El avance son los nodos de búsqueda visitados desde que empezó la generación
+     * (tablero resuelto y conteos de soluciones); se informa en el hilo que genera antes de
+     * cada celda que se intenta quitar y cada
+     * {@link SolucionadorIterativo#NODOS_POR_REVISION} nodos del tablero resuelto o, en el
+     * modo {@link ModoSolucionador#ITERATIVO}, de un conteo. Esos son también los puntos donde
+     * se revisa si se interrumpió el hilo, la forma de cancelar la generación.
+     * @param id el identificador del juego.
+     * @param objetivo la dificultad buscada, o null para la generación normal.
+     * @param plazo el tiempo máximo de generación.
+     * @param avance recibe los nodos visitados, o null para no informar.
+     * @return el juego, su dificultad y si venció el plazo.
+     */
+    public ResultadoGeneracion generarJuego(long id, Dificultad objetivo, Duration plazo, LongConsumer avance) {
+        generador.setPlazo(System.nanoTime() + plazo.toNanos());
+        this.avance = avance;
+        try {
+            Tablero tableroInicial = generarNuevoTablero(id, objetivo);
+            boolean vencido = generador.isPlazoVencido();
+            TableroGenerado juego = vencido
+                    ? new TableroGenerado(tableroInicial, getSolucion())
+                    : new TableroGenerado(tableroInicial, getSolucion(), id);
+            return new ResultadoGeneracion(juego, dificultad, vencido);
+        } finally {
+            generador.quitarPlazo();
+            this.avance = null;
         }
-        return true;
     }
 
     /**
      * Genera un nuevo tablero resuelto y retorna un tablero inicial con celdas ocultas.
      * Se usa para garantizar que cada juego tiene solución válida.
      */
-    public int[][] generarNuevoTablero() {
-        sudokuResuelto(); // Genera un nuevo tablero resuelto con backtracking
-        return getTableroInicial(); // Crea el tablero inicial con espacios vacíos
+    public Tablero generarNuevoTablero() {
+        return generarNuevoTablero(semillas.nextLong(), null);
     }
-}
 
+    /**
+     * Genera un tablero inicial de la dificultad pedida con un identificador nuevo.
+     * @param objetivo la dificultad buscada, o null para la generación normal.
+     * @return un tablero inicial con solución única.
+     */
+    public Tablero generarNuevoTablero(Dificultad objetivo) {
+        return generarNuevoTablero(semillas.nextLong(), objetivo);
+    }
 
+    /**
+     * Genera un tablero inicial de la dificultad pedida.
+     * <p>
+     * Para {@link Dificultad#FACIL} se excava con las pistas por bloque de la geometría,
+     * quitando solo pistas que dejan el tablero resoluble con solitarios ocultos. Para las
+     * demás se excava sin mínimo por bloque (con menos pistas aparecen las técnicas
+     * avanzadas), limitado a las técnicas permitidas o, en {@link Dificultad#EXPERTO}, solo
+     * por la unicidad. Se repite hasta que la calificación coincide; si no se consigue en
+     * {@code MAX_INTENTOS_DIFICULTAD} intentos se entrega el tablero de dificultad más cercana.
+     *
+     * @param id el identificador del juego; determina el tablero resuelto y la excavación.
+     * @param objetivo la dificultad buscada, o null para la generación normal sin calificar antes.
+     * @return un tablero inicial con solución única; su solución queda en {@link #getSolucion()}.
+     */
+    public Tablero generarNuevoTablero(long id, Dificultad objetivo) {
+        EventoGeneracion evento = new EventoGeneracion();
+        evento.begin();
+        long inicio = System.nanoTime();
+        this.id = id;
+        SplittableRandom raiz = new SplittableRandom(id);
+        random = raiz.split();
+        generador.usarFlujo(raiz.split());
+        ContadorSoluciones contador = contadorSoluciones();
+        nodosConteoAntes = contador.getNodos();
+        nodosResolverPrevios = 0;
+        nodosResolver = 0;
+
+        Tablero tableroInicial;
+        if (objetivo == null) {
+            intentos = 1;
+            sudokuResuelto(); // Genera un nuevo tablero resuelto con backtracking
+            tableroInicial = excavar(); // Crea el tablero inicial con espacios vacíos
+            dificultad = calificar(tableroInicial);
+        } else {
+            tableroInicial = generarConDificultad(objetivo, contador);
+        }
+
+        evento.end();
+        evento.size = size;
+        evento.id = id;
+        evento.nodosResolver = nodosResolver;
+        evento.reinicios = reinicios;
+        evento.nodosConteo = contador.getNodos() - nodosConteoAntes;
+        evento.comprobaciones = generador.getComprobaciones();
+        evento.pasadas = generador.getPasadas();
+        evento.limiteCumplido = generador.isLimiteCumplido();
+        evento.dificultad = dificultad.name();
+        evento.intentos = intentos;
+        evento.plazoVencido = generador.isPlazoVencido();
+        EstadisticasMotor.registrarGeneracion(evento, System.nanoTime() - inicio);
+        if (evento.shouldCommit()) {
+            evento.commit();
+        }
+        return tableroInicial;
+    }
+
+    private Tablero generarConDificultad(Dificultad objetivo, ContadorSoluciones contador) {
+        Tablero mejor = null;
+        Tablero solucionMejor = null;
+        Dificultad dificultadMejor = null;
+
+        for (intentos = 1; intentos <= MAX_INTENTOS_DIFICULTAD; intentos++) {
+            sudokuResuelto();
+            Tablero tablero;
+            if (objetivo == Dificultad.FACIL) {
+                tablero = generador.excavar(juegoResuelto, geometria.getPistasPorBloque(), contador,
+                        logico, Dificultad.FACIL);
+            } else if (objetivo == Dificultad.EXPERTO) {
+                tablero = generador.excavar(juegoResuelto, 0, contador);
+            } else {
+                tablero = generador.excavar(juegoResuelto, 0, contador, logico, objetivo);
+            }
+            Dificultad calificada = calificar(tablero);
+            if (calificada == objetivo) {
+                dificultad = calificada;
+                return tablero;
+            }
+            if (dificultadMejor == null || distancia(calificada, objetivo) < distancia(dificultadMejor, objetivo)) {
+                mejor = tablero;
+                solucionMejor = getSolucion();
+                dificultadMejor = calificada;
+            }
+            if (generador.vencido()) {
+                break;
+            }
+        }
+        intentos = Math.min(intentos, MAX_INTENTOS_DIFICULTAD);
+        solucionMejor.copiarEn(juegoResuelto);
+        solucion = solucionMejor;
+        dificultad = dificultadMejor;
+        return mejor;
+    }
+
+    private static int distancia(Dificultad a, Dificultad b) {
+        return Math.abs(a.ordinal() - b.ordinal());
+    }
+}
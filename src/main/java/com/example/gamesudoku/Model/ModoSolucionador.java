@@ -0,0 +1,33 @@
+package com.example.gamesudoku.Model;
+
+/**
+ * Estrategias disponibles para contar las soluciones de un tablero.
+ *
+ * @author Jeferson Stiven Trullott Rivas
+ * @author Juan Carlos Fuentes
+ * @version 1.0
+ */
+public enum ModoSolucionador {
+
+    /**
+     * Backtracking celda por celda usando las máscaras de {@link RestriccionesSudoku}.
+     */
+    BACKTRACKING,
+
+    /**
+     * Cobertura exacta con Dancing Links ({@link SolucionadorDLX}).
+     */
+    DLX,
+
+    /**
+     * Backtracking repartido entre los hilos de un pool fork/join ({@link SolucionadorParalelo}),
+     * para tableros grandes con pocas pistas.
+     */
+    PARALELO,
+
+    /**
+     * Backtracking sin recursión ({@link SolucionadorIterativo}), que se puede cancelar
+     * interrumpiendo el hilo y publica su avance.
+     */
+    ITERATIVO
+}
@@ -0,0 +1,273 @@
+package com.example.gamesudoku.Model;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.Spliterator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Motor de sudoku sin estado y seguro entre hilos: una sola instancia puede atender a
+ * muchas partidas a la vez sin bloqueos y sin crear un motor por juego.
+ * <p>
+ * Cada llamada devuelve un resultado inmutable ({@link TableroGenerado} o un valor simple)
+ * en lugar de dejarlo guardado para pedirlo después. Los arreglos de trabajo del
+ * backtracking, la excavación y los solucionadores están en un {@link JuegoSudoku} por hilo,
+ * guardado en un {@link ThreadLocal} y reutilizado en todas sus llamadas; como cada juego se
+ * genera desde su identificador, el espacio de trabajo no guarda nada que influya en el
+ * resultado y el mismo identificador da el mismo juego en cualquier hilo.
+ *
+ * @author Jeferson Stiven Trullott Rivas
+ * @author Juan Carlos Fuentes
+ * @version 1.0
+ */
+public final class MotorSudoku {
+
+    private final Geometria geometria;
+    private final ModoSolucionador modoSolucionador;
+
+    /**
+     * Espacio de trabajo de cada hilo que usa el motor.
+     */
+    private final ThreadLocal<JuegoSudoku> espacios;
+
+    /**
+     * Crea el motor con el solucionador por backtracking.
+     *
+     * @param geometria la forma de los tableros.
+     */
+    public MotorSudoku(Geometria geometria) {
+        this(geometria, ModoSolucionador.BACKTRACKING);
+    }
+
+    /**
+     * @param geometria la forma de los tableros.
+     * @param modoSolucionador la estrategia para comprobar la unicidad.
+     */
+    public MotorSudoku(Geometria geometria, ModoSolucionador modoSolucionador) {
+        this.geometria = geometria;
+        this.modoSolucionador = modoSolucionador;
+        this.espacios = ThreadLocal.withInitial(this::nuevoEspacio);
+    }
+
+    private JuegoSudoku nuevoEspacio() {
+        // Los identificadores de juegos nuevos los pone el motor; este flujo no se usa
+        JuegoSudoku juego = new JuegoSudoku(geometria, new SplittableRandom(0));
+        juego.setModoSolucionador(modoSolucionador);
+        return juego;
+    }
+
+    /**
+     * @return el espacio de trabajo del hilo actual.
+     */
+    private JuegoSudoku espacio() {
+        return espacios.get();
+    }
+
+    /**
+     * Genera un juego nuevo con un identificador al azar.
+     *
+     * @return el tablero inicial, su solución y su identificador.
+     */
+    public TableroGenerado generar() {
+        return generar(ThreadLocalRandom.current().nextLong(), null);
+    }
+
+    /**
+     * Genera un juego nuevo de la dificultad pedida con un identificador al azar.
+     *
+     * @param objetivo la dificultad buscada.
+     * @return el tablero inicial, su solución y su identificador.
+     */
+    public TableroGenerado generar(Dificultad objetivo) {
+        return generar(ThreadLocalRandom.current().nextLong(), objetivo);
+    }
+
+    /**
+     * Genera el juego de un identificador; da el mismo juego desde cualquier hilo.
+     *
+     * @param id el identificador del juego.
+     * @param objetivo la dificultad buscada, o null para la generación normal.
+     * @return el tablero inicial, su solución y su identificador.
+     */
+    public TableroGenerado generar(long id, Dificultad objetivo) {
+        return espacio().generarJuego(id, objetivo);
+    }
+
+    /**
+     * Genera un juego nuevo sin pasar de un plazo; ver {@link JuegoSudoku#generarJuego(long, Dificultad, Duration)}.
+     * Se puede cancelar interrumpiendo el hilo que genera.
+     *
+     * @param objetivo la dificultad buscada, o null para la generación normal.
+     * @param plazo el tiempo máximo de generación.
+     * @return el mejor juego conseguido, siempre con solución única, y si venció el plazo.
+     */
+    public ResultadoGeneracion generar(Dificultad objetivo, Duration plazo) {
+        return generar(ThreadLocalRandom.current().nextLong(), objetivo, plazo);
+    }
+
+    /**
+     * Genera el juego de un identificador sin pasar de un plazo. Si el plazo no vence, el
+     * juego es el mismo que da {@link #generar(long, Dificultad)}.
+     *
+     * @param id el identificador del juego.
+     * @param objetivo la dificultad buscada, o null para la generación normal.
+     * @param plazo el tiempo máximo de generación.
+     * @return el mejor juego conseguido, siempre con solución única, y si venció el plazo.
+     */
+    public ResultadoGeneracion generar(long id, Dificultad objetivo, Duration plazo) {
+        return espacio().generarJuego(id, objetivo, plazo);
+    }
+
+    /**
+     * Genera un juego nuevo con plazo informando el avance; ver
+     * {@link JuegoSudoku#generarJuego(long, Dificultad, Duration, LongConsumer)}. El avance se
+     * informa en el hilo que genera, que se puede interrumpir para cancelar.
+     *
+     * @param objetivo la dificultad buscada, o null para la generación normal.
+     * @param plazo el tiempo máximo de generación.
+     * @param avance recibe los nodos de búsqueda visitados hasta el momento.
+     * @return el mejor juego conseguido, siempre con solución única, y si venció el plazo.
+     */
+    public ResultadoGeneracion generar(Dificultad objetivo, Duration plazo, LongConsumer avance) {
+        return espacio().generarJuego(ThreadLocalRandom.current().nextLong(), objetivo, plazo, avance);
+    }
+
+    /**
+     * Flujo sin fin de juegos nuevos con una semilla al azar; ver {@link #juegos(long, Dificultad)}.
+     *
+     * @return el flujo de juegos.
+     */
+    public Stream<TableroGenerado> juegos() {
+        return juegos(ThreadLocalRandom.current().nextLong(), null);
+    }
+
+    /**
+     * Flujo sin fin de juegos nuevos que se generan a medida que se piden, sin guardar
+     * ninguno. Los identificadores salen de un {@link SplittableRandom} con la semilla dada;
+     * en un flujo paralelo cada división se lleva un flujo aleatorio separado con
+     * {@link SplittableRandom#split()}, así que los hilos no comparten estado y cada uno
+     * genera con su propio espacio de trabajo. Se puede escribir, por ejemplo,
+     * {@code juegos(s, null).parallel().filter(j -> calificar(j.getTableroInicial()) == DIFICIL).limit(n)}.
+     * <p>
+     * El flujo no tiene orden: en secuencial la misma semilla da los mismos juegos en el mismo
+     * orden, pero en paralelo pueden llegar en otro orden.
+     *
+     * @param semilla semilla de los identificadores.
+     * @param objetivo la dificultad buscada, o null para la generación normal.
+     * @return el flujo de juegos.
+     */
+    public Stream<TableroGenerado> juegos(long semilla, Dificultad objetivo) {
+        return StreamSupport.stream(new Juegos(new SplittableRandom(semilla), objetivo, 0, Long.MAX_VALUE), false);
+    }
+
+    /**
+     * @param tablero el tablero a evaluar.
+     * @return true si tiene exactamente una solución.
+     */
+    public boolean tieneUnicaSolucion(Tablero tablero) {
+        return espacio().tieneUnicaSolucion(tablero);
+    }
+
+    /**
+     * @param tablero el tablero a evaluar.
+     * @param limite número de soluciones a partir del cual se deja de buscar.
+     * @return el número de soluciones, como máximo {@code limite}.
+     */
+    public int contarSoluciones(Tablero tablero, int limite) {
+        return espacio().contarSoluciones(tablero, limite);
+    }
+
+    /**
+     * @param tablero el tablero a evaluar.
+     * @return su dificultad; {@link Dificultad#EXPERTO} si hace falta adivinar.
+     */
+    public Dificultad calificar(Tablero tablero) {
+        return espacio().calificar(tablero);
+    }
+
+    /**
+     * @param tablero el tablero actual.
+     * @param fila la fila de la celda.
+     * @param colum la columna de la celda.
+     * @param num el número a poner.
+     * @return true si ningún vecino de la celda tiene ya ese número.
+     */
+    public boolean esMovimientoValido(Tablero tablero, int fila, int colum, int num) {
+        return espacio().esMovimientoValido(tablero, fila, colum, num);
+    }
+
+    /**
+     * @param tablero el tablero actual.
+     * @param fila la fila de la celda vacía.
+     * @param colum la columna de la celda vacía.
+     * @return el número que la lógica obliga a poner en la celda, o vacío.
+     */
+    public Optional<Integer> sugerirNumero(Tablero tablero, int fila, int colum) {
+        return espacio().sugerirNumero(tablero, fila, colum);
+    }
+
+    /**
+     * @return la forma de los tableros del motor.
+     */
+    public Geometria getGeometria() {
+        return geometria;
+    }
+
+    /**
+     * Fuente de {@link #juegos(long, Dificultad)}: un rango de posiciones del flujo, que solo
+     * sirve para partirlo en mitades, y el flujo aleatorio que da sus identificadores.
+     */
+    private final class Juegos implements Spliterator<TableroGenerado> {
+        private final SplittableRandom random;
+        private final Dificultad objetivo;
+        private long indice;
+        private final long fin;
+
+        private Juegos(SplittableRandom random, Dificultad objetivo, long indice, long fin) {
+            this.random = random;
+            this.objetivo = objetivo;
+            this.indice = indice;
+            this.fin = fin;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super TableroGenerado> accion) {
+            if (indice >= fin) {
+                return false;
+            }
+            indice++;
+            accion.accept(generar(random.nextLong(), objetivo));
+            return true;
+        }
+
+        @Override
+        public Spliterator<TableroGenerado> trySplit() {
+            long mitad = (indice + fin) >>> 1;
+            if (mitad <= indice) {
+                return null;
+            }
+            Juegos primera = new Juegos(random.split(), objetivo, indice, mitad);
+            indice = mitad;
+            return primera;
+        }
+
+        @Override
+        public long estimateSize() {
+            return fin - indice;
+        }
+
+        /**
+         * Sin SIZED: el flujo no tiene fin, así que {@code count()} o {@code toArray()} no deben
+         * tomar el rango como una cantidad real de juegos.
+         */
+        @Override
+        public int characteristics() {
+            return NONNULL | IMMUTABLE;
+        }
+    }
+}
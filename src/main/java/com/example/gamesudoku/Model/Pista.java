@@ -0,0 +1,118 @@
+package com.example.gamesudoku.Model;
+
+/**
+ * Una ayuda para el jugador: la celda a llenar, el número que va y por qué.
+ *
+ * @author Jeferson Stiven Trullott Rivas
+ * @author Juan Carlos Fuentes
+ * @version 1.0
+ */
+public final class Pista {
+
+    /**
+     * Razón por la que se eligió la celda de la pista.
+     */
+    public enum Motivo {
+
+        /**
+         * La celda tiene un número que no corresponde a la solución.
+         */
+        ERROR,
+
+        /**
+         * El número solo cabe en esa celda de su fila, columna o bloque.
+         */
+        SOLITARIO_OCULTO,
+
+        /**
+         * En la celda solo cabe ese número.
+         */
+        SOLITARIO_DESNUDO,
+
+        /**
+         * No hay celdas forzadas; es la celda con menos candidatos.
+         */
+        MAS_RESTRINGIDA
+    }
+
+    private final int fila;
+    private final int columna;
+    private final int valor;
+    private final Motivo motivo;
+    private final String unidad;
+    private final int candidatos;
+
+    /**
+     * @param fila la fila de la celda.
+     * @param columna la columna de la celda.
+     * @param valor el número que va en la celda.
+     * @param motivo por qué se eligió la celda.
+     * @param unidad la fila, columna o bloque de un solitario oculto (por ejemplo "fila 3"), o null.
+     * @param candidatos cuántos números caben en la celda.
+     */
+    public Pista(int fila, int columna, int valor, Motivo motivo, String unidad, int candidatos) {
+        this.fila = fila;
+        this.columna = columna;
+        this.valor = valor;
+        this.motivo = motivo;
+        this.unidad = unidad;
+        this.candidatos = candidatos;
+    }
+
+    /**
+     * @return la fila de la celda.
+     */
+    public int getFila() {
+        return fila;
+    }
+
+    /**
+     * @return la columna de la celda.
+     */
+    public int getColumna() {
+        return columna;
+    }
+
+    /**
+     * @return el número que va en la celda.
+     */
+    public int getValor() {
+        return valor;
+    }
+
+    /**
+     * @return por qué se eligió la celda.
+     */
+    public Motivo getMotivo() {
+        return motivo;
+    }
+
+    /**
+     * @return cuántos números caben en la celda según el tablero actual.
+     */
+    public int getCandidatos() {
+        return candidatos;
+    }
+
+    /**
+     * @return la explicación de la pista para mostrar al jugador.
+     */
+    public String getDescripcion() {
+        String celda = "(" + (fila + 1) + ", " + (columna + 1) + ")";
+        switch (motivo) {
+            case ERROR:
+                return "La celda " + celda + " tenía un número incorrecto: va el " + valor + ".";
+            case SOLITARIO_OCULTO:
+                return "En la " + unidad + " el " + valor + " solo cabe en la celda " + celda + ".";
+            case SOLITARIO_DESNUDO:
+                return "En la celda " + celda + " solo cabe el " + valor + ".";
+            default:
+                return "La celda " + celda + " es la de menos opciones (" + candidatos + "): va el " + valor + ".";
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getDescripcion();
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.gamesudoku.Model;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reserva acotada de juegos ya generados.
+ * Unos hilos en segundo plano generan juegos con un {@link MotorSudoku} compartido (cada
+ * hilo usa su propio espacio de trabajo) y los dejan en una cola; cuando la cola está llena esperan a que se consuma alguno.
+ * Así empezar una partida solo tiene que sacar el siguiente juego de la cola.
+ *
+ * @author Jeferson Stiven Trullott Rivas
+ * @author Juan Carlos Fuentes
+ * @version 1.0
+ */
+public class PoolTableros {
+
+    private final BlockingQueue<TableroGenerado> cola;
+    private final Thread[] hilos;
+
+    /**
+     * Juegos generados desde que arrancó la reserva.
+     */
+    private final AtomicLong totalGenerados = new AtomicLong();
+
+    /**
+     * Tiempo total, sumado entre hilos, dedicado a generar juegos (en nanosegundos).
+     */
+    private final AtomicLong nanosGenerando = new AtomicLong();
+
+    /**
+     * Crea la reserva y arranca los hilos que la llenan.
+     *
+     * @param geometria la forma de los tableros a generar.
+     * @param capacidad el número máximo de juegos guardados.
+     * @param numeroHilos cuántos hilos generan en paralelo.
+     */
+    public PoolTableros(Geometria geometria, int capacidad, int numeroHilos) {
+        this(new MotorSudoku(geometria), capacidad, numeroHilos);
+    }
+
+    /**
+     * Crea la reserva sobre un motor que también usan otras partes del juego.
+     *
+     * @param motor el motor con el que se generan los juegos.
+     * @param capacidad el número máximo de juegos guardados.
+     * @param numeroHilos cuántos hilos generan en paralelo.
+     */
+    public PoolTableros(MotorSudoku motor, int capacidad, int numeroHilos) {
+        cola = new ArrayBlockingQueue<>(capacidad);
+        hilos = new Thread[numeroHilos];
+        for (int i = 0; i < numeroHilos; i++) {
+            hilos[i] = new Thread(() -> rellenar(motor), "pool-tableros-" + i);
+            hilos[i].setDaemon(true);
+            hilos[i].setPriority(Thread.MIN_PRIORITY);
+            hilos[i].start();
+        }
+    }
+
+    private void rellenar(MotorSudoku motor) {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                long inicio = System.nanoTime();
+                TableroGenerado juego = motor.generar();
+                nanosGenerando.addAndGet(System.nanoTime() - inicio);
+                totalGenerados.incrementAndGet();
+                cola.put(juego);
+            }
+        } catch (InterruptedException | CancellationException e) {
+            // detener() interrumpe el hilo, esté esperando en la cola o generando
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Saca el siguiente juego listo sin esperar.
+     *
+     * @return un juego, o null si la reserva está vacía en este momento.
+     */
+    public TableroGenerado tomar() {
+        return cola.poll();
+    }
+
+    /**
+     * Saca el siguiente juego, esperando a que algún hilo lo termine si la reserva está vacía.
+     *
+     * @return un juego listo para jugar.
+     * @throws InterruptedException si se interrumpe la espera.
+     */
+    public TableroGenerado tomarEsperando() throws InterruptedException {
+        return cola.take();
+    }
+
+    /**
+     * @return cuántos juegos hay listos en este momento.
+     */
+    public int getProfundidad() {
+        return cola.size();
+    }
+
+    /**
+     * @return el número máximo de juegos que guarda la reserva.
+     */
+    public int getCapacidad() {
+        return cola.size() + cola.remainingCapacity();
+    }
+
+    /**
+     * @return los juegos generados desde que arrancó la reserva.
+     */
+    public long getTotalGenerados() {
+        return totalGenerados.get();
+    }
+
+    /**
+     * Ritmo al que la reserva se rellena mientras los hilos trabajan, sin contar el tiempo
+     * que pasan esperando porque la cola está llena.
+     *
+     * @return juegos por segundo sumando todos los hilos, o 0 si aún no se ha generado ninguno.
+     */
+    public double getTasaRelleno() {
+        long nanos = nanosGenerando.get();
+        if (nanos == 0) {
+            return 0;
+        }
+        return totalGenerados.get() * hilos.length / (nanos / 1e9);
+    }
+
+    /**
+     * Detiene los hilos que rellenan la reserva.
+     */
+    public void detener() {
+        for (Thread hilo : hilos) {
+            hilo.interrupt();
+        }
+    }
+}
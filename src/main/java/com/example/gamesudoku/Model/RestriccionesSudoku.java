@@ -0,0 +1,168 @@
+package com.example.gamesudoku.Model;
+
+import java.util.Arrays;
+
+/**
+ * Motor de restricciones del Sudoku.
+ * Mantiene, para cada fila, columna y sub bloque, una máscara de bits con los números
+ * ya usados, de modo que comprobar, colocar o quitar un número cuesta O(1) y no crea objetos.
+ * Las tablas de celdas vienen precalculadas en la {@link Geometria} del tablero.
+ *
+ * @author Jeferson Stiven Trullott Rivas
+ * @author Juan Carlos Fuentes
+ * @version 1.0
+ */
+public class RestriccionesSudoku {
+
+    private final Geometria geometria;
+    private final int[] filaDe;
+    private final int[] columnaDe;
+    private final int[] bloqueDe;
+
+    /**
+     * Números usados en cada fila, columna y bloque (bit n encendido = número n usado).
+     */
+    private final int[] filas;
+    private final int[] columnas;
+    private final int[] bloques;
+
+    /**
+     * Crea un motor vacío para la geometría indicada.
+     *
+     * @param geometria la forma del tablero.
+     */
+    public RestriccionesSudoku(Geometria geometria) {
+        this.geometria = geometria;
+        this.filaDe = geometria.filaDe;
+        this.columnaDe = geometria.columnaDe;
+        this.bloqueDe = geometria.bloqueDe;
+        int size = geometria.getSize();
+        filas = new int[size];
+        columnas = new int[size];
+        bloques = new int[size];
+    }
+
+    /**
+     * Deja el motor sin ningún número colocado.
+     */
+    public void limpiar() {
+        Arrays.fill(filas, 0);
+        Arrays.fill(columnas, 0);
+        Arrays.fill(bloques, 0);
+    }
+
+    /**
+     * Carga en el motor los números de un tablero.
+     *
+     * @param tablero el tablero a cargar, con 0 en las celdas vacías.
+     * @return true si el tablero no tiene números repetidos, false si ya es inválido.
+     */
+    public boolean cargar(int[][] tablero) {
+        limpiar();
+        for (int celda = 0; celda < filaDe.length; celda++) {
+            int num = tablero[filaDe[celda]][columnaDe[celda]];
+            if (num != 0) {
+                if (!puedeColocar(celda, num)) {
+                    return false;
+                }
+                colocar(celda, num);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Indica si un número puede colocarse en una celda sin repetirse.
+     *
+     * @param celda el índice plano de la celda.
+     * @param num el número a colocar.
+     * @return true si no está usado en la fila, la columna ni el bloque de la celda.
+     */
+    public boolean puedeColocar(int celda, int num) {
+        return (usados(celda) & (1 << num)) == 0;
+    }
+
+    /**
+     * Devuelve la máscara de números que todavía pueden colocarse en una celda.
+     *
+     * @param celda el índice plano de la celda.
+     * @return máscara de candidatos (bit n encendido = número n permitido).
+     */
+    public int candidatos(int celda) {
+        return ~usados(celda) & geometria.todos;
+    }
+
+    /**
+     * Marca un número como usado en la fila, columna y bloque de la celda.
+     *
+     * @param celda el índice plano de la celda.
+     * @param num el número colocado.
+     */
+    public void colocar(int celda, int num) {
+        int bit = 1 << num;
+        filas[filaDe[celda]] |= bit;
+        columnas[columnaDe[celda]] |= bit;
+        bloques[bloqueDe[celda]] |= bit;
+    }
+
+    /**
+     * Libera un número de la fila, columna y bloque de la celda.
+     *
+     * @param celda el índice plano de la celda.
+     * @param num el número retirado.
+     */
+    public void quitar(int celda, int num) {
+        int bit = ~(1 << num);
+        filas[filaDe[celda]] &= bit;
+        columnas[columnaDe[celda]] &= bit;
+        bloques[bloqueDe[celda]] &= bit;
+    }
+
+    /**
+     * Elige la siguiente celda vacía a llenar en un tablero sincronizado con este motor.
+     * En tableros grandes es la celda con menos números posibles, para que el backtracking
+     * se ramifique lo menos posible; en los pequeños es la primera celda vacía a partir
+     * de {@code desde}, que sale más barato que revisar todas.
+     *
+     * @param tablero el tablero que se está llenando.
+     * @param desde la celda desde la que se recorre en orden (solo tableros pequeños).
+     * @return el índice plano de la celda elegida, o -1 si no quedan celdas vacías.
+     */
+    public int siguienteCelda(int[][] tablero, int desde) {
+        int celdas = filaDe.length;
+        if (!geometria.usaCeldaMasRestringida()) {
+            for (int celda = desde; celda < celdas; celda++) {
+                if (tablero[filaDe[celda]][columnaDe[celda]] == 0) {
+                    return celda;
+                }
+            }
+            return -1;
+        }
+        int mejor = -1;
+        int menor = Integer.MAX_VALUE;
+        for (int celda = 0; celda < celdas; celda++) {
+            if (tablero[filaDe[celda]][columnaDe[celda]] == 0) {
+                int opciones = Integer.bitCount(candidatos(celda));
+                if (opciones < menor) {
+                    mejor = celda;
+                    menor = opciones;
+                    if (opciones <= 1) {
+                        break;
+                    }
+                }
+            }
+        }
+        return mejor;
+    }
+
+    private int usados(int celda) {
+        return filas[filaDe[celda]] | columnas[columnaDe[celda]] | bloques[bloqueDe[celda]];
+    }
+
+    /**
+     * @return la geometría del tablero que maneja este motor.
+     */
+    public Geometria getGeometria() {
+        return geometria;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.gamesudoku.Model;
+
+/**
+ * Resultado de una generación con plazo: el mejor juego conseguido, su dificultad y si el
+ * plazo venció antes de terminar.
+ * <p>
+ * El juego siempre tiene solución única. Si el plazo venció puede tener más pistas de las
+ * normales o una dificultad distinta de la pedida, y no lleva identificador, porque volver a
+ * generarlo desde el id daría el juego completo y no este.
+ *
+ * @author Jeferson Stiven Trullott Rivas
+ * @author Juan Carlos Fuentes
+ * @version 1.0
+ */
+public final class ResultadoGeneracion {
+
+    private final TableroGenerado juego;
+    private final Dificultad dificultad;
+    private final boolean plazoVencido;
+
+    /**
+     * @param juego el juego generado.
+     * @param dificultad la dificultad del tablero inicial.
+     * @param plazoVencido true si la generación se cortó por el plazo.
+     */
+    public ResultadoGeneracion(TableroGenerado juego, Dificultad dificultad, boolean plazoVencido) {
+        this.juego = juego;
+        this.dificultad = dificultad;
+        this.plazoVencido = plazoVencido;
+    }
+
+    /**
+     * @return el juego, con solución única.
+     */
+    public TableroGenerado getJuego() {
+        return juego;
+    }
+
+    /**
+     * @return la dificultad del tablero inicial.
+     */
+    public Dificultad getDificultad() {
+        return dificultad;
+    }
+
+    /**
+     * @return true si el plazo venció y el juego es el mejor conseguido hasta entonces.
+     */
+    public boolean isPlazoVencido() {
+        return plazoVencido;
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.gamesudoku.Model;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Transformación que convierte un tablero válido en otro equivalente: renombrar los
+ * números, cambiar filas dentro de una banda, cambiar bandas, cambiar columnas dentro de
+ * una pila, cambiar pilas y, solo si los bloques son cuadrados, transponer.
+ * Una banda son las filas de una misma fila de bloques y una pila las columnas de una misma
+ * columna de bloques. En el 6x6 (bloques 2x3) la transpuesta convertiría los bloques en 3x2,
+ * así que no se usa.
+ * <p>
+ * Como la transformación conserva filas, columnas y bloques, un tablero inicial con solución
+ * única sigue teniendo solución única al transformarlo, sin volver a comprobarlo.
+ * Las permutaciones se guardan en arreglos reutilizables y {@link #mezclar} elige una nueva
+ * sin crear objetos.
+ *
+ * @author Jeferson Stiven Trullott Rivas
+ * @author Juan Carlos Fuentes
+ * @version 1.0
+ */
+public class Simetria {
+
+    private final Geometria geometria;
+    private final int size;
+
+    /**
+     * Fila y columna de origen de cada fila y columna del resultado.
+     */
+    private final int[] filas;
+    private final int[] columnas;
+
+    /**
+     * Nuevo nombre de cada número; el 0 (celda vacía) se conserva.
+     */
+    private final int[] numeros;
+    private boolean transponer;
+
+    /**
+     * Bandas y pilas en su nuevo orden, reservadas para {@link #mezclar}.
+     */
+    private final int[] bandas;
+    private final int[] pilas;
+
+    /**
+     * Celdas del resultado al transformar un {@link Tablero}, antes de empaquetarlo.
+     */
+    private final int[] valores;
+
+    /**
+     * Crea la transformación identidad.
+     *
+     * @param geometria la forma de los tableros a transformar.
+     */
+    public Simetria(Geometria geometria) {
+        this.geometria = geometria;
+        this.size = geometria.getSize();
+        this.filas = new int[size];
+        this.columnas = new int[size];
+        this.numeros = new int[size + 1];
+        this.bandas = new int[size / geometria.getSubFila()];
+        this.pilas = new int[size / geometria.getSubColumna()];
+        this.valores = new int[geometria.getCeldas()];
+        for (int i = 0; i < size; i++) {
+            filas[i] = i;
+            columnas[i] = i;
+            numeros[i + 1] = i + 1;
+        }
+    }
+
+    /**
+     * @return true si la geometría admite transponer (bloques cuadrados).
+     */
+    public boolean admiteTransponer() {
+        return geometria.getSubFila() == geometria.getSubColumna();
+    }
+
+    /**
+     * Elige una transformación al azar, con la misma probabilidad para cada una.
+     *
+     * @param random el generador aleatorio.
+     */
+    public void mezclar(RandomGenerator random) {
+        int subFila = geometria.getSubFila();
+        int subColumna = geometria.getSubColumna();
+        permutar(bandas, random);
+        permutar(pilas, random);
+        for (int b = 0; b < bandas.length; b++) {
+            for (int i = 0; i < subFila; i++) {
+                filas[b * subFila + i] = bandas[b] * subFila + i;
+            }
+            mezclarTramo(filas, b * subFila, subFila, random);
+        }
+        for (int p = 0; p < pilas.length; p++) {
+            for (int i = 0; i < subColumna; i++) {
+                columnas[p * subColumna + i] = pilas[p] * subColumna + i;
+            }
+            mezclarTramo(columnas, p * subColumna, subColumna, random);
+        }
+        for (int n = 1; n <= size; n++) {
+            numeros[n] = n;
+        }
+        mezclarTramo(numeros, 1, size, random);
+        transponer = admiteTransponer() && random.nextBoolean();
+    }
+
+    private static void permutar(int[] arreglo, RandomGenerator random) {
+        for (int i = 0; i < arreglo.length; i++) {
+            arreglo[i] = i;
+        }
+        mezclarTramo(arreglo, 0, arreglo.length, random);
+    }
+
+    private static void mezclarTramo(int[] arreglo, int inicio, int largo, RandomGenerator random) {
+        for (int i = largo - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int temp = arreglo[inicio + i];
+            arreglo[inicio + i] = arreglo[inicio + j];
+            arreglo[inicio + j] = temp;
+        }
+    }
+
+    /**
+     * Aplica la transformación a un tablero.
+     *
+     * @param origen el tablero a transformar, no se modifica.
+     * @param destino donde se escribe el resultado; debe ser un arreglo distinto de {@code origen}.
+     */
+    public void aplicar(int[][] origen, int[][] destino) {
+        for (int f = 0; f < size; f++) {
+            int filaOrigen = filas[f];
+            for (int c = 0; c < size; c++) {
+                int valor = transponer ? origen[columnas[c]][filaOrigen] : origen[filaOrigen][columnas[c]];
+                destino[f][c] = numeros[valor];
+            }
+        }
+    }
+
+    /**
+     * Aplica la transformación a un tablero empaquetado.
+     *
+     * @param origen el tablero a transformar.
+     * @return el tablero transformado.
+     */
+    public Tablero aplicar(Tablero origen) {
+        for (int f = 0; f < size; f++) {
+            int filaOrigen = filas[f];
+            for (int c = 0; c < size; c++) {
+                int valor = transponer ? origen.get(columnas[c], filaOrigen) : origen.get(filaOrigen, columnas[c]);
+                valores[f * size + c] = numeros[valor];
+            }
+        }
+        return Tablero.de(geometria, valores);
+    }
+
+    /**
+     * Aplica la misma transformación al tablero inicial y a la solución de un juego.
+     *
+     * @param juego el juego a transformar.
+     * @return un juego equivalente nuevo, con solución única si el original la tenía.
+     */
+    public TableroGenerado aplicar(TableroGenerado juego) {
+        return new TableroGenerado(aplicar(juego.getTableroInicial()), aplicar(juego.getSolucion()));
+    }
+}
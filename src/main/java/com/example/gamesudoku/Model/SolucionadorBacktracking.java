@@ -0,0 +1,88 @@
+package com.example.gamesudoku.Model;
+
+/**
+ * Cuenta soluciones por backtracking, probando en cada celda vacía solo los números que
+ * permiten las máscaras de {@link RestriccionesSudoku}.
+ *
+ * @author Jeferson Stiven Trullott Rivas
+ * @author Juan Carlos Fuentes
+ * @version 1.0
+ */
+public class SolucionadorBacktracking implements ContadorSoluciones {
+
+    private final Geometria geometria;
+
+    /**
+     * Motor de restricciones sincronizado con el tablero que se está contando.
+     */
+    private final RestriccionesSudoku restricciones;
+
+    private int limite;
+
+    /**
+     * Nodos de búsqueda visitados desde que se creó el solucionador.
+     */
+    private long nodos;
+
+    /**
+     * @param geometria la forma del tablero.
+     */
+    public SolucionadorBacktracking(Geometria geometria) {
+        this.geometria = geometria;
+        this.restricciones = new RestriccionesSudoku(geometria);
+    }
+
+    @Override
+    public int contarSoluciones(int[][] tablero, int limite) {
+        // Un tablero con números repetidos no tiene solución
+        if (!restricciones.cargar(tablero)) {
+            return 0;
+        }
+        int pendientes = 0;
+        for (int[] fila : tablero) {
+            for (int valor : fila) {
+                if (valor == 0) pendientes++;
+            }
+        }
+        this.limite = limite;
+        return contarSoluciones(tablero, 0, pendientes, 0);
+    }
+
+    @Override
+    public long getNodos() {
+        return nodos;
+    }
+
+    /**
+     * Cuenta cuántas soluciones válidas existen para un tablero Sudoku dado.
+     *
+     * @param tablero El tablero actual a evaluar.
+     * @param desde Celda desde la que se busca la siguiente celda vacía.
+     * @param pendientes Número de celdas vacías que quedan en el tablero.
+     * @param contador Contador actual de soluciones encontradas.
+     * @return Número total de soluciones encontradas (como máximo el límite, ya que se corta al alcanzarlo)
+     */
+    private int contarSoluciones(int[][] tablero, int desde, int pendientes, int contador) {
+        if (contador >= limite) return contador; // se alcanzó el límite → salir
+        if (pendientes == 0) return contador + 1;
+        nodos++;
+
+        // Se ramifica en la siguiente celda vacía (la más restringida en tableros grandes)
+        int celda = restricciones.siguienteCelda(tablero, desde);
+        int fila = geometria.filaDe[celda];
+        int colum = geometria.columnaDe[celda];
+
+        // Recorre solo los candidatos libres según las máscaras de fila, columna y bloque
+        int libres = restricciones.candidatos(celda);
+        while (libres != 0 && contador < limite) {
+            int num = Integer.numberOfTrailingZeros(libres);
+            libres &= libres - 1;
+            tablero[fila][colum] = num;
+            restricciones.colocar(celda, num);
+            contador = contarSoluciones(tablero, celda + 1, pendientes - 1, contador);
+            restricciones.quitar(celda, num);
+            tablero[fila][colum] = 0;
+        }
+        return contador;
+    }
+}
@@ -0,0 +1,262 @@
+package com.example.gamesudoku.Model;
+
+/**
+ * Solucionador por cobertura exacta (Algorithm X con Dancing Links) para el Sudoku.
+ * Cada candidato (celda, número) es una fila de la matriz que cubre cuatro restricciones:
+ * la celda, el número en la fila, el número en la columna y el número en el bloque.
+ * En cada paso se elige la restricción con menos candidatos, lo que poda el árbol de
+ * búsqueda mucho más que recorrer las celdas en orden.
+ * <p>
+ * La matriz se construye una sola vez sobre arreglos de enteros y se restaura después de
+ * cada conteo, por lo que contar soluciones no crea objetos.
+ *
+ * @author Jeferson Stiven Trullott Rivas
+ * @author Juan Carlos Fuentes
+ * @version 1.0
+ */
+public class SolucionadorDLX implements ContadorSoluciones {
+
+    /**
+     * Nodo cabecera raíz; las cabeceras de columna van de 1 a columnas.
+     */
+    private static final int RAIZ = 0;
+
+    private final Geometria geometria;
+    private final int size;
+    private final int celdas;
+
+    /**
+     * Número de restricciones: celda, fila-número, columna-número y bloque-número.
+     */
+    private final int columnas;
+
+    // Enlaces de la matriz dispersa
+    private final int[] izquierda;
+    private final int[] derecha;
+    private final int[] arriba;
+    private final int[] abajo;
+    private final int[] columnaDe;
+    private final int[] candidatoDe;
+
+    /**
+     * Número de nodos vivos en cada columna.
+     */
+    private final int[] tamanio;
+
+    /**
+     * Primer nodo de cada candidato, para poder seleccionarlo directamente.
+     */
+    private final int[] primerNodo;
+
+    /**
+     * Candidatos fijados por las pistas del tablero, para deshacerlos en orden inverso.
+     */
+    private final int[] pistas;
+
+    /**
+     * Indica qué columnas ya están cubiertas por las pistas.
+     */
+    private final boolean[] cubierta;
+
+    private int soluciones;
+    private int limite;
+
+    /**
+     * Nodos de búsqueda visitados desde que se creó el solucionador.
+     */
+    private long nodos;
+
+    /**
+     * Construye la matriz de cobertura exacta completa para una geometría.
+     *
+     * @param geometria la forma del tablero.
+     */
+    public SolucionadorDLX(Geometria geometria) {
+        this.geometria = geometria;
+        this.size = geometria.getSize();
+        this.celdas = geometria.getCeldas();
+        this.columnas = 4 * celdas;
+        int candidatos = celdas * size;
+        int nodos = 1 + columnas + candidatos * 4;
+        tamanio = new int[columnas + 1];
+        primerNodo = new int[candidatos];
+        pistas = new int[celdas];
+        cubierta = new boolean[columnas + 1];
+        izquierda = new int[nodos];
+        derecha = new int[nodos];
+        arriba = new int[nodos];
+        abajo = new int[nodos];
+        columnaDe = new int[nodos];
+        candidatoDe = new int[nodos];
+
+        for (int c = 0; c <= columnas; c++) {
+            izquierda[c] = c - 1;
+            derecha[c] = c + 1;
+            arriba[c] = c;
+            abajo[c] = c;
+            columnaDe[c] = c;
+        }
+        izquierda[RAIZ] = columnas;
+        derecha[columnas] = RAIZ;
+
+        int siguiente = columnas + 1;
+        for (int celda = 0; celda < celdas; celda++) {
+            int fila = geometria.filaDe[celda];
+            int colum = geometria.columnaDe[celda];
+            int bloque = geometria.bloqueDe[celda];
+            for (int d = 0; d < size; d++) {
+                int candidato = celda * size + d;
+                int[] restricciones = {
+                        1 + celda,
+                        1 + celdas + fila * size + d,
+                        1 + 2 * celdas + colum * size + d,
+                        1 + 3 * celdas + bloque * size + d
+                };
+                int primero = siguiente;
+                primerNodo[candidato] = primero;
+                for (int i = 0; i < restricciones.length; i++) {
+                    int nodo = siguiente++;
+                    int c = restricciones[i];
+                    columnaDe[nodo] = c;
+                    candidatoDe[nodo] = candidato;
+                    // enlace vertical al final de la columna
+                    arriba[nodo] = arriba[c];
+                    abajo[nodo] = c;
+                    abajo[arriba[c]] = nodo;
+                    arriba[c] = nodo;
+                    tamanio[c]++;
+                    // enlace horizontal circular dentro del candidato
+                    izquierda[nodo] = (i == 0) ? nodo + restricciones.length - 1 : nodo - 1;
+                    derecha[nodo] = (i == restricciones.length - 1) ? primero : nodo + 1;
+                }
+            }
+        }
+    }
+
+    /**
+     * Cuenta las soluciones de un tablero, deteniéndose al llegar al límite indicado.
+     *
+     * @param tablero el tablero a evaluar, con 0 en las celdas vacías. No se modifica.
+     * @param limite número de soluciones a partir del cual se deja de buscar (2 basta para unicidad).
+     * @return el número de soluciones encontradas, como máximo {@code limite}.
+     */
+    @Override
+    public int contarSoluciones(int[][] tablero, int limite) {
+        int fijadas = 0;
+        boolean valido = true;
+
+        // Se fijan las pistas cubriendo sus columnas; un choque significa tablero sin solución
+        for (int celda = 0; celda < celdas && valido; celda++) {
+            int num = tablero[geometria.filaDe[celda]][geometria.columnaDe[celda]];
+            if (num == 0) {
+                continue;
+            }
+            int nodo = primerNodo[celda * size + num - 1];
+            int j = nodo;
+            do {
+                if (cubierta[columnaDe[j]]) {
+                    valido = false;
+                    break;
+                }
+                j = derecha[j];
+            } while (j != nodo);
+            if (valido) {
+                seleccionar(nodo);
+                pistas[fijadas++] = nodo;
+            }
+        }
+
+        soluciones = 0;
+        this.limite = limite;
+        if (valido) {
+            buscar();
+        }
+
+        // Se restaura la matriz completa para la siguiente llamada
+        for (int i = fijadas - 1; i >= 0; i--) {
+            deseleccionar(pistas[i]);
+        }
+        return soluciones;
+    }
+
+    @Override
+    public long getNodos() {
+        return nodos;
+    }
+
+    private void buscar() {
+        if (derecha[RAIZ] == RAIZ) {
+            soluciones++;
+            return;
+        }
+        nodos++;
+
+        // Heurística: la restricción con menos candidatos vivos
+        int elegida = derecha[RAIZ];
+        for (int c = derecha[elegida]; c != RAIZ; c = derecha[c]) {
+            if (tamanio[c] < tamanio[elegida]) {
+                elegida = c;
+            }
+        }
+        if (tamanio[elegida] == 0) {
+            return;
+        }
+
+        cubrir(elegida);
+        for (int r = abajo[elegida]; r != elegida && soluciones < limite; r = abajo[r]) {
+            for (int j = derecha[r]; j != r; j = derecha[j]) {
+                cubrir(columnaDe[j]);
+            }
+            buscar();
+            for (int j = izquierda[r]; j != r; j = izquierda[j]) {
+                descubrir(columnaDe[j]);
+            }
+        }
+        descubrir(elegida);
+    }
+
+    private void seleccionar(int nodo) {
+        int j = nodo;
+        do {
+            cubrir(columnaDe[j]);
+            cubierta[columnaDe[j]] = true;
+            j = derecha[j];
+        } while (j != nodo);
+    }
+
+    private void deseleccionar(int nodo) {
+        int j = izquierda[nodo];
+        while (true) {
+            cubierta[columnaDe[j]] = false;
+            descubrir(columnaDe[j]);
+            if (j == nodo) {
+                break;
+            }
+            j = izquierda[j];
+        }
+    }
+
+    private void cubrir(int c) {
+        derecha[izquierda[c]] = derecha[c];
+        izquierda[derecha[c]] = izquierda[c];
+        for (int i = abajo[c]; i != c; i = abajo[i]) {
+            for (int j = derecha[i]; j != i; j = derecha[j]) {
+                abajo[arriba[j]] = abajo[j];
+                arriba[abajo[j]] = arriba[j];
+                tamanio[columnaDe[j]]--;
+            }
+        }
+    }
+
+    private void descubrir(int c) {
+        for (int i = arriba[c]; i != c; i = arriba[i]) {
+            for (int j = izquierda[i]; j != i; j = izquierda[j]) {
+                tamanio[columnaDe[j]]++;
+                abajo[arriba[j]] = j;
+                arriba[abajo[j]] = j;
+            }
+        }
+        derecha[izquierda[c]] = c;
+        izquierda[derecha[c]] = c;
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.gamesudoku.Model;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * Cuenta soluciones con el mismo backtracking que {@link SolucionadorBacktracking}, pero sin
+ * recursión: la búsqueda guarda en arreglos reservados una sola vez, por nivel, la celda
+ * elegida, los candidatos que faltan por probar y el número puesto. El uso de la pila del hilo
+ * es fijo sin importar el tamaño del tablero.
+ * <p>
+ * Cada {@link #NODOS_POR_REVISION} nodos publica el conteo de nodos, que otro hilo puede leer
+ * con {@link #getNodos()} para mostrar el avance, y revisa si se pidió cancelar, con
+ * {@link #cancelar()} o interrumpiendo el hilo. Al cancelar deja el tablero como estaba y
+ * lanza {@link CancellationException}; la interrupción del hilo queda marcada.
+ *
+ * @author Jeferson Stiven Trullott Rivas
+ * @author Juan Carlos Fuentes
+ * @version 1.0
+ */
+public class SolucionadorIterativo implements ContadorSoluciones {
+
+    /**
+     * Nodos entre revisiones de cancelación y publicaciones del avance (potencia de dos).
+     */
+    public static final int NODOS_POR_REVISION = 4096;
+
+    private final Geometria geometria;
+    private final RestriccionesSudoku restricciones;
+
+    /**
+     * Por nivel de la búsqueda: la celda elegida, los candidatos que faltan y el número puesto
+     * (0 si todavía no se puso ninguno).
+     */
+    private final int[] celdas;
+    private final int[] libres;
+    private final int[] puestos;
+
+    /**
+     * Nodos visitados, publicados cada {@link #NODOS_POR_REVISION} y al terminar cada conteo.
+     */
+    private volatile long nodos;
+
+    private volatile boolean cancelado;
+
+    /**
+     * Se ejecuta en cada revisión, o null.
+     */
+    private Runnable revision;
+
+    /**
+     * @param geometria la forma del tablero.
+     */
+    public SolucionadorIterativo(Geometria geometria) {
+        this.geometria = geometria;
+        this.restricciones = new RestriccionesSudoku(geometria);
+        this.celdas = new int[geometria.getCeldas()];
+        this.libres = new int[geometria.getCeldas()];
+        this.puestos = new int[geometria.getCeldas()];
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws CancellationException si se canceló o se interrumpió el hilo durante la búsqueda.
+     */
+    @Override
+    public int contarSoluciones(int[][] tablero, int limite) {
+        // Un tablero con números repetidos no tiene solución
+        if (!restricciones.cargar(tablero)) {
+            return 0;
+        }
+        int pendientes = 0;
+        for (int[] fila : tablero) {
+            for (int valor : fila) {
+                if (valor == 0) pendientes++;
+            }
+        }
+        if (pendientes == 0) {
+            return limite > 0 ? 1 : 0;
+        }
+
+        long visitados = nodos;
+        int contador = 0;
+        int nivel = 0;
+        abrirNivel(tablero, 0, 0);
+        visitados++;
+        while (nivel >= 0) {
+            int celda = celdas[nivel];
+            int fila = geometria.filaDe[celda];
+            int colum = geometria.columnaDe[celda];
+            if (puestos[nivel] != 0) {
+                restricciones.quitar(celda, puestos[nivel]);
+                tablero[fila][colum] = 0;
+                puestos[nivel] = 0;
+            }
+            if (libres[nivel] == 0 || contador >= limite) {
+                nivel--;
+                continue;
+            }
+            int num = Integer.numberOfTrailingZeros(libres[nivel]);
+            libres[nivel] &= libres[nivel] - 1;
+            tablero[fila][colum] = num;
+            restricciones.colocar(celda, num);
+            puestos[nivel] = num;
+
+            if (nivel + 1 == pendientes) {
+                contador++;
+                continue;
+            }
+            nivel++;
+            abrirNivel(tablero, nivel, celda + 1);
+            if ((++visitados & (NODOS_POR_REVISION - 1)) == 0) {
+                nodos = visitados;
+                if (revision != null) {
+                    revision.run();
+                }
+                if (cancelado || Thread.currentThread().isInterrupted()) {
+                    deshacer(tablero, nivel);
+                    cancelado = false;
+                    throw new CancellationException("Conteo de soluciones cancelado");
+                }
+            }
+        }
+        nodos = visitados;
+        return contador;
+    }
+
+    /**
+     * Elige la celda del nivel y guarda sus candidatos.
+     */
+    private void abrirNivel(int[][] tablero, int nivel, int desde) {
+        int celda = restricciones.siguienteCelda(tablero, desde);
+        celdas[nivel] = celda;
+        libres[nivel] = restricciones.candidatos(celda);
+        puestos[nivel] = 0;
+    }
+
+    /**
+     * Quita del tablero los números puestos desde el nivel 0 hasta {@code nivel}.
+     */
+    private void deshacer(int[][] tablero, int nivel) {
+        for (int n = 0; n <= nivel; n++) {
+            if (puestos[n] != 0) {
+                int celda = celdas[n];
+                restricciones.quitar(celda, puestos[n]);
+                tablero[geometria.filaDe[celda]][geometria.columnaDe[celda]] = 0;
+                puestos[n] = 0;
+            }
+        }
+    }
+
+    /**
+     * @param revision se ejecuta en el hilo que busca en cada revisión, justo después de
+     * publicar los nodos; por ejemplo para informar el avance. Null para ninguna.
+     */
+    public void setRevision(Runnable revision) {
+        this.revision = revision;
+    }
+
+    /**
+     * Pide que el conteo en curso (o el siguiente) se detenga en la próxima revisión.
+     * Se puede llamar desde otro hilo.
+     */
+    public void cancelar() {
+        cancelado = true;
+    }
+
+    /**
+     * @return los nodos visitados desde que se creó el contador; desde otro hilo, el valor de
+     * la última publicación.
+     */
+    @Override
+    public long getNodos() {
+        return nodos;
+    }
+}
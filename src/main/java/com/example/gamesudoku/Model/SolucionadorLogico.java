@@ -0,0 +1,356 @@
+package com.example.gamesudoku.Model;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Solucionador por propagación que aplica técnicas humanas en lugar de probar números:
+ * solitarios ocultos, solitarios desnudos, intersecciones (apuntar y reclamar) y parejas
+ * desnudas. Siempre usa la técnica más simple que avance, así que las técnicas registradas
+ * son las que de verdad necesita el tablero y sirven para calificar su dificultad.
+ * <p>
+ * Cada deducción es forzada, de modo que si la propagación llena el tablero sin
+ * contradicciones ese tablero tiene solución única; la mayoría de los 6x6 se resuelven así
+ * sin búsqueda. Los candidatos se guardan como máscaras de bits y las intersecciones entre
+ * bloques y líneas se precalculan, por lo que resolver no crea objetos.
+ *
+ * @author Jeferson Stiven Trullott Rivas
+ * @author Juan Carlos Fuentes
+ * @version 1.0
+ */
+public class SolucionadorLogico {
+
+    private final Geometria geometria;
+    private final int size;
+    private final int celdas;
+    private final int[][] unidades;
+
+    /**
+     * Para cada par bloque-línea que se cruzan: las celdas del cruce, las del bloque fuera de
+     * la línea y las de la línea fuera del bloque.
+     */
+    private final int[][] cruce;
+    private final int[][] restoBloque;
+    private final int[][] restoLinea;
+
+    private final int[] valores;
+    private final int[] candidatos;
+    private int pendientes;
+    private boolean contradiccion;
+
+    /**
+     * Técnicas usadas en la última resolución (bit n encendido = técnica de ordinal n).
+     */
+    private int tecnicasUsadas;
+
+    /**
+     * @param geometria la forma del tablero.
+     */
+    public SolucionadorLogico(Geometria geometria) {
+        this.geometria = geometria;
+        this.size = geometria.getSize();
+        this.celdas = geometria.getCeldas();
+        this.unidades = geometria.unidades;
+        this.valores = new int[celdas];
+        this.candidatos = new int[celdas];
+
+        int subFila = geometria.getSubFila();
+        int subColumna = geometria.getSubColumna();
+        int pares = size * (subFila + subColumna);
+        cruce = new int[pares][];
+        restoBloque = new int[pares][];
+        restoLinea = new int[pares][];
+        int par = 0;
+        for (int bloque = 0; bloque < size; bloque++) {
+            int[] celdasBloque = geometria.celdasBloque[bloque];
+            int primera = celdasBloque[0];
+            for (int i = 0; i < subFila + subColumna; i++) {
+                boolean esFila = i < subFila;
+                int linea = esFila
+                        ? geometria.filaDe[primera] + i
+                        : size + geometria.columnaDe[primera] + (i - subFila);
+                int largoCruce = esFila ? subColumna : subFila;
+                cruce[par] = new int[largoCruce];
+                restoBloque[par] = new int[size - largoCruce];
+                restoLinea[par] = new int[size - largoCruce];
+                int enCruce = 0;
+                int enBloque = 0;
+                int enLinea = 0;
+                for (int celda : celdasBloque) {
+                    if (enLinea(celda, linea)) {
+                        cruce[par][enCruce++] = celda;
+                    } else {
+                        restoBloque[par][enBloque++] = celda;
+                    }
+                }
+                for (int celda : unidades[linea]) {
+                    if (geometria.bloqueDe[celda] != bloque) {
+                        restoLinea[par][enLinea++] = celda;
+                    }
+                }
+                par++;
+            }
+        }
+    }
+
+    private boolean enLinea(int celda, int linea) {
+        return linea < size ? geometria.filaDe[celda] == linea : size + geometria.columnaDe[celda] == linea;
+    }
+
+    /**
+     * Intenta resolver un tablero usando todas las técnicas.
+     *
+     * @param tablero el tablero, con 0 en las celdas vacías. No se modifica.
+     * @return true si se resolvió por completo sin adivinar.
+     */
+    public boolean resolver(int[][] tablero) {
+        return resolver(tablero, Dificultad.DIFICIL);
+    }
+
+    /**
+     * Intenta resolver un tablero usando solo las técnicas de la dificultad indicada o menores.
+     *
+     * @param tablero el tablero, con 0 en las celdas vacías. No se modifica.
+     * @param maxima la dificultad de la técnica más avanzada permitida.
+     * @return true si se resolvió por completo sin adivinar ni encontrar contradicciones.
+     */
+    public boolean resolver(int[][] tablero, Dificultad maxima) {
+        cargar(tablero);
+        while (pendientes > 0 && !contradiccion) {
+            if (solitarioOculto()) {
+                continue;
+            }
+            if (maxima.compareTo(Dificultad.MEDIA) >= 0 && solitarioDesnudo()) {
+                continue;
+            }
+            if (maxima.compareTo(Dificultad.DIFICIL) >= 0 && interseccion()) {
+                continue;
+            }
+            if (maxima.compareTo(Dificultad.DIFICIL) >= 0 && parejaDesnuda()) {
+                continue;
+            }
+            break;
+        }
+        return pendientes == 0 && !contradiccion;
+    }
+
+    /**
+     * Califica un tablero según las técnicas que necesita.
+     *
+     * @param tablero el tablero, con 0 en las celdas vacías. No se modifica.
+     * @return la dificultad del tablero; {@link Dificultad#EXPERTO} si la propagación no alcanza.
+     */
+    public Dificultad calificar(int[][] tablero) {
+        return resolver(tablero) ? getDificultad() : Dificultad.EXPERTO;
+    }
+
+    private void cargar(int[][] tablero) {
+        tecnicasUsadas = 0;
+        contradiccion = false;
+        pendientes = celdas;
+        for (int celda = 0; celda < celdas; celda++) {
+            valores[celda] = 0;
+            candidatos[celda] = geometria.todos;
+        }
+        for (int celda = 0; celda < celdas; celda++) {
+            int num = tablero[geometria.filaDe[celda]][geometria.columnaDe[celda]];
+            if (num != 0) {
+                if ((candidatos[celda] & (1 << num)) == 0) {
+                    contradiccion = true;
+                }
+                colocar(celda, num);
+            }
+        }
+    }
+
+    /**
+     * Pone un número y lo descarta de los vecinos; un vecino sin candidatos es una contradicción.
+     */
+    private void colocar(int celda, int num) {
+        valores[celda] = num;
+        candidatos[celda] = 0;
+        pendientes--;
+        int bit = ~(1 << num);
+        for (int vecino : geometria.vecinos[celda]) {
+            if (valores[vecino] == 0) {
+                candidatos[vecino] &= bit;
+                if (candidatos[vecino] == 0) {
+                    contradiccion = true;
+                }
+            }
+        }
+    }
+
+    private boolean solitarioDesnudo() {
+        boolean avance = false;
+        for (int celda = 0; celda < celdas && !contradiccion; celda++) {
+            int c = candidatos[celda];
+            if (valores[celda] == 0 && (c & (c - 1)) == 0) {
+                colocar(celda, Integer.numberOfTrailingZeros(c));
+                avance = true;
+            }
+        }
+        if (avance) {
+            tecnicasUsadas |= 1 << Tecnica.SOLITARIO_DESNUDO.ordinal();
+        }
+        return avance;
+    }
+
+    private boolean solitarioOculto() {
+        boolean avance = false;
+        for (int[] unidad : unidades) {
+            int una = 0;
+            int varias = 0;
+            int puestos = 0;
+            for (int celda : unidad) {
+                int c = candidatos[celda];
+                varias |= una & c;
+                una |= c;
+                puestos |= 1 << valores[celda];
+            }
+            if (((una | puestos) & geometria.todos) != geometria.todos) {
+                contradiccion = true; // un número que no cabe en ninguna celda de la unidad
+                return false;
+            }
+            for (int unicos = una & ~varias; unicos != 0; unicos &= unicos - 1) {
+                int num = Integer.numberOfTrailingZeros(unicos);
+                int celda = buscarCandidato(unidad, num);
+                if (celda < 0) {
+                    contradiccion = true; // la única celda posible ya se llenó con otro número
+                    return false;
+                }
+                colocar(celda, num);
+                avance = true;
+            }
+        }
+        if (avance) {
+            tecnicasUsadas |= 1 << Tecnica.SOLITARIO_OCULTO.ordinal();
+        }
+        return avance;
+    }
+
+    private int buscarCandidato(int[] unidad, int num) {
+        for (int celda : unidad) {
+            if ((candidatos[celda] & (1 << num)) != 0) {
+                return celda;
+            }
+        }
+        return -1;
+    }
+
+    private boolean interseccion() {
+        boolean avance = false;
+        for (int par = 0; par < cruce.length; par++) {
+            int enCruce = unir(cruce[par]);
+            // Apuntar: dentro del bloque el número solo está en el cruce, sale del resto de la línea
+            avance |= descartar(restoLinea[par], enCruce & ~unir(restoBloque[par]));
+            // Reclamar: dentro de la línea el número solo está en el cruce, sale del resto del bloque
+            avance |= descartar(restoBloque[par], enCruce & ~unir(restoLinea[par]));
+        }
+        if (avance) {
+            tecnicasUsadas |= 1 << Tecnica.INTERSECCION.ordinal();
+        }
+        return avance;
+    }
+
+    private boolean parejaDesnuda() {
+        boolean avance = false;
+        for (int[] unidad : unidades) {
+            for (int i = 0; i < size; i++) {
+                int pareja = candidatos[unidad[i]];
+                if (Integer.bitCount(pareja) != 2) {
+                    continue;
+                }
+                for (int j = i + 1; j < size; j++) {
+                    if (candidatos[unidad[j]] != pareja) {
+                        continue;
+                    }
+                    for (int celda : unidad) {
+                        if (celda != unidad[i] && celda != unidad[j] && (candidatos[celda] & pareja) != 0) {
+                            candidatos[celda] &= ~pareja;
+                            contradiccion |= valores[celda] == 0 && candidatos[celda] == 0;
+                            avance = true;
+                        }
+                    }
+                }
+            }
+        }
+        if (avance) {
+            tecnicasUsadas |= 1 << Tecnica.PAREJA_DESNUDA.ordinal();
+        }
+        return avance;
+    }
+
+    private int unir(int[] grupo) {
+        int mascara = 0;
+        for (int celda : grupo) {
+            mascara |= candidatos[celda];
+        }
+        return mascara;
+    }
+
+    private boolean descartar(int[] grupo, int mascara) {
+        boolean avance = false;
+        if (mascara == 0) {
+            return false;
+        }
+        for (int celda : grupo) {
+            if ((candidatos[celda] & mascara) != 0) {
+                candidatos[celda] &= ~mascara;
+                contradiccion |= valores[celda] == 0 && candidatos[celda] == 0;
+                avance = true;
+            }
+        }
+        return avance;
+    }
+
+    /**
+     * @return las técnicas que se usaron en la última resolución.
+     */
+    public Set<Tecnica> getTecnicas() {
+        EnumSet<Tecnica> tecnicas = EnumSet.noneOf(Tecnica.class);
+        for (Tecnica tecnica : Tecnica.values()) {
+            if ((tecnicasUsadas & (1 << tecnica.ordinal())) != 0) {
+                tecnicas.add(tecnica);
+            }
+        }
+        return tecnicas;
+    }
+
+    /**
+     * @return la dificultad de la técnica más avanzada usada en la última resolución.
+     */
+    public Dificultad getDificultad() {
+        Dificultad dificultad = Dificultad.FACIL;
+        for (Tecnica tecnica : Tecnica.values()) {
+            if ((tecnicasUsadas & (1 << tecnica.ordinal())) != 0
+                    && tecnica.getDificultad().compareTo(dificultad) > 0) {
+                dificultad = tecnica.getDificultad();
+            }
+        }
+        return dificultad;
+    }
+
+    /**
+     * @return true si la última resolución encontró que el tablero no tiene solución.
+     */
+    public boolean hayContradiccion() {
+        return contradiccion;
+    }
+
+    /**
+     * @return las celdas que quedaron sin resolver en la última resolución.
+     */
+    public int getPendientes() {
+        return pendientes;
+    }
+
+    /**
+     * @param fila la fila de la celda.
+     * @param colum la columna de la celda.
+     * @return el número que la propagación puso en la celda, o 0 si no lo dedujo.
+     */
+    public int getValor(int fila, int colum) {
+        return valores[fila * size + colum];
+    }
+}
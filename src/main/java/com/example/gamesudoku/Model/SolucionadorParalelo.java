@@ -0,0 +1,204 @@
+package com.example.gamesudoku.Model;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cuenta soluciones repartiendo el árbol de búsqueda entre los hilos de un {@link ForkJoinPool},
+ * para que una comprobación de unicidad en tableros grandes con pocas pistas use todos los
+ * núcleos en lugar de uno.
+ * <p>
+ * Cada tarea se ramifica en la celda vacía con menos candidatos y crea una subtarea por
+ * candidato, con su propia copia del tablero y sus propias {@link RestriccionesSudoku}, hasta
+ * que el pool ya tiene trabajo de sobra o quedan pocas celdas; a partir de ahí sigue con
+ * backtracking normal. Todas las tareas suman en un mismo contador atómico y lo revisan en
+ * cada nodo, así que en cuanto cualquiera encuentra la solución que alcanza el límite (la
+ * segunda, al comprobar unicidad) las demás dejan de buscar.
+ *
+ * @author Jeferson Stiven Trullott Rivas
+ * @author Juan Carlos Fuentes
+ * @version 1.0
+ */
+public class SolucionadorParalelo implements ContadorSoluciones {
+
+    /**
+     * Con menos celdas vacías que estas, la subtarea cuesta más que resolver en el mismo hilo.
+     */
+    private static final int MIN_PENDIENTES_DIVIDIR = 16;
+
+    /**
+     * Tareas en espera por hilo a partir de las cuales ya no se divide más.
+     */
+    private static final int MAX_SOBRANTES = 2;
+
+    private final Geometria geometria;
+    private final ForkJoinPool pool;
+
+    /**
+     * Nodos de búsqueda visitados desde que se creó el solucionador, sumados entre hilos.
+     */
+    private final LongAdder nodos = new LongAdder();
+
+    /**
+     * Usa el pool común.
+     *
+     * @param geometria la forma del tablero.
+     */
+    public SolucionadorParalelo(Geometria geometria) {
+        this(geometria, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param geometria la forma del tablero.
+     * @param pool el pool donde se reparte la búsqueda.
+     */
+    public SolucionadorParalelo(Geometria geometria, ForkJoinPool pool) {
+        this.geometria = geometria;
+        this.pool = pool;
+    }
+
+    @Override
+    public int contarSoluciones(int[][] tablero, int limite) {
+        RestriccionesSudoku restricciones = new RestriccionesSudoku(geometria);
+        // Un tablero con números repetidos no tiene solución
+        if (!restricciones.cargar(tablero)) {
+            return 0;
+        }
+        int size = geometria.getSize();
+        int[][] copia = new int[size][];
+        int pendientes = 0;
+        for (int f = 0; f < size; f++) {
+            copia[f] = tablero[f].clone();
+            for (int valor : copia[f]) {
+                if (valor == 0) pendientes++;
+            }
+        }
+        AtomicInteger encontradas = new AtomicInteger();
+        Rama raiz = new Rama(copia, restricciones, pendientes, limite, encontradas);
+        if (pool.getParallelism() > 1) {
+            pool.invoke(raiz);
+        } else {
+            // Con un solo hilo dividir solo añade copias; se busca directamente
+            raiz.buscar(0, pendientes);
+            nodos.add(raiz.visitados);
+        }
+        // Varias tareas pueden pasar el límite a la vez antes de ver el contador
+        return Math.min(encontradas.get(), limite);
+    }
+
+    @Override
+    public long getNodos() {
+        return nodos.sum();
+    }
+
+    /**
+     * Subárbol de búsqueda a partir de un tablero parcial que la tarea es dueña de modificar.
+     */
+    private final class Rama extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[][] tablero;
+        private final RestriccionesSudoku restricciones;
+        private final int pendientes;
+        private final int limite;
+        private final AtomicInteger encontradas;
+
+        /**
+         * Nodos visitados por esta tarea; se suman al total al terminar.
+         */
+        private long visitados;
+
+        private Rama(int[][] tablero, RestriccionesSudoku restricciones, int pendientes, int limite,
+                     AtomicInteger encontradas) {
+            this.tablero = tablero;
+            this.restricciones = restricciones;
+            this.pendientes = pendientes;
+            this.limite = limite;
+            this.encontradas = encontradas;
+        }
+
+        @Override
+        protected void compute() {
+            if (pendientes >= MIN_PENDIENTES_DIVIDIR && getSurplusQueuedTaskCount() <= MAX_SOBRANTES) {
+                dividir();
+            } else {
+                buscar(0, pendientes);
+                nodos.add(visitados);
+            }
+        }
+
+        /**
+         * Crea una subtarea por cada candidato de la celda más restringida y espera a todas.
+         */
+        private void dividir() {
+            if (encontradas.get() >= limite) {
+                return;
+            }
+            nodos.increment();
+            int celda = masRestringida();
+            int libres = restricciones.candidatos(celda);
+            Rama[] hijas = new Rama[Integer.bitCount(libres)];
+            for (int i = 0; libres != 0; i++) {
+                int num = Integer.numberOfTrailingZeros(libres);
+                libres &= libres - 1;
+                int[][] copia = new int[tablero.length][];
+                for (int f = 0; f < tablero.length; f++) {
+                    copia[f] = tablero[f].clone();
+                }
+                copia[geometria.filaDe[celda]][geometria.columnaDe[celda]] = num;
+                RestriccionesSudoku propias = new RestriccionesSudoku(geometria);
+                propias.cargar(copia);
+                hijas[i] = new Rama(copia, propias, pendientes - 1, limite, encontradas);
+            }
+            invokeAll(hijas);
+        }
+
+        /**
+         * @return la celda vacía con menos candidatos (si alguna no tiene ninguno, esa).
+         */
+        private int masRestringida() {
+            int mejor = -1;
+            int menor = Integer.MAX_VALUE;
+            for (int celda = 0; celda < geometria.getCeldas(); celda++) {
+                if (tablero[geometria.filaDe[celda]][geometria.columnaDe[celda]] == 0) {
+                    int opciones = Integer.bitCount(restricciones.candidatos(celda));
+                    if (opciones < menor) {
+                        mejor = celda;
+                        menor = opciones;
+                        if (opciones <= 1) {
+                            break;
+                        }
+                    }
+                }
+            }
+            return mejor;
+        }
+
+        /**
+         * Backtracking en el mismo hilo, como el de {@link SolucionadorBacktracking} pero
+         * sumando en el contador compartido y cortando si otra tarea llegó al límite.
+         */
+        private void buscar(int desde, int pendientes) {
+            if (pendientes == 0) {
+                encontradas.incrementAndGet();
+                return;
+            }
+            visitados++;
+            int celda = restricciones.siguienteCelda(tablero, desde);
+            int fila = geometria.filaDe[celda];
+            int colum = geometria.columnaDe[celda];
+            int libres = restricciones.candidatos(celda);
+            while (libres != 0 && encontradas.get() < limite) {
+                int num = Integer.numberOfTrailingZeros(libres);
+                libres &= libres - 1;
+                tablero[fila][colum] = num;
+                restricciones.colocar(celda, num);
+                buscar(celda + 1, pendientes - 1);
+                restricciones.quitar(celda, num);
+                tablero[fila][colum] = 0;
+            }
+        }
+    }
+}
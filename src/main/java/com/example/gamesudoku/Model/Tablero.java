@@ -0,0 +1,271 @@
+package com.example.gamesudoku.Model;
+
+import java.util.Arrays;
+
+/**
+ * Tablero inmutable y empaquetado: los valores de las celdas en orden de lectura, con 0 en
+ * las celdas vacías.
+ * <p>
+ * Cada celda ocupa los bits justos para su valor (3 en el 4x4 y el 6x6). Si el tablero
+ * cabe en dos long, como el 6x6 (36 celdas de 3 bits, 21 celdas por long), se guarda así y
+ * copiarlo, compararlo o calcular su hash son unas pocas operaciones sobre dos números; los
+ * tableros más grandes se guardan en un {@code byte[]} plano con un byte por celda. Como no
+ * cambia, se puede compartir entre hilos y guardar como clave sin copiarlo; {@link #con}
+ * devuelve un tablero nuevo con una celda cambiada.
+ *
+ * @author Jeferson Stiven Trullott Rivas
+ * @author Juan Carlos Fuentes
+ * @version 1.0
+ */
+public final class Tablero {
+
+    private final Geometria geometria;
+
+    /**
+     * Bits por celda y celdas por long en la forma empaquetada.
+     */
+    private final int bits;
+    private final int porLong;
+
+    /**
+     * Forma empaquetada: celdas 0 a porLong - 1 en {@code bajo} y el resto en {@code alto}.
+     * Solo se usa si {@code celdas} es null.
+     */
+    private final long bajo;
+    private final long alto;
+
+    /**
+     * Forma plana para los tableros que no caben en dos long, o null.
+     */
+    private final byte[] celdas;
+
+    private Tablero(Geometria geometria, long bajo, long alto) {
+        this.geometria = geometria;
+        this.bits = bitsPorCelda(geometria);
+        this.porLong = 64 / bits;
+        this.bajo = bajo;
+        this.alto = alto;
+        this.celdas = null;
+    }
+
+    private Tablero(Geometria geometria, byte[] celdas) {
+        this.geometria = geometria;
+        this.bits = bitsPorCelda(geometria);
+        this.porLong = 64 / bits;
+        this.bajo = 0;
+        this.alto = 0;
+        this.celdas = celdas;
+    }
+
+    private static int bitsPorCelda(Geometria geometria) {
+        return 32 - Integer.numberOfLeadingZeros(geometria.getSize());
+    }
+
+    /**
+     * @param geometria la forma del tablero.
+     * @return true si sus tableros caben en dos long.
+     */
+    static boolean esEmpaquetado(Geometria geometria) {
+        return geometria.getCeldas() <= 2 * (64 / bitsPorCelda(geometria));
+    }
+
+    /**
+     * @param geometria la forma del tablero.
+     * @return un tablero con todas las celdas vacías.
+     */
+    public static Tablero vacio(Geometria geometria) {
+        return esEmpaquetado(geometria)
+                ? new Tablero(geometria, 0, 0)
+                : new Tablero(geometria, new byte[geometria.getCeldas()]);
+    }
+
+    /**
+     * Empaqueta una matriz.
+     *
+     * @param geometria la forma del tablero.
+     * @param matriz los valores, con 0 en las celdas vacías. No se modifica.
+     * @return el tablero con los mismos valores.
+     */
+    public static Tablero de(Geometria geometria, int[][] matriz) {
+        int size = geometria.getSize();
+        if (!esEmpaquetado(geometria)) {
+            byte[] celdas = new byte[geometria.getCeldas()];
+            for (int celda = 0; celda < celdas.length; celda++) {
+                celdas[celda] = (byte) matriz[celda / size][celda % size];
+            }
+            return new Tablero(geometria, celdas);
+        }
+        int bits = bitsPorCelda(geometria);
+        int porLong = 64 / bits;
+        long bajo = 0;
+        long alto = 0;
+        for (int celda = geometria.getCeldas() - 1; celda >= 0; celda--) {
+            int valor = matriz[celda / size][celda % size];
+            if (celda < porLong) {
+                bajo = (bajo << bits) | valor;
+            } else {
+                alto = (alto << bits) | valor;
+            }
+        }
+        return new Tablero(geometria, bajo, alto);
+    }
+
+    /**
+     * Empaqueta los valores de las celdas en orden de lectura.
+     *
+     * @param geometria la forma del tablero.
+     * @param valores un valor por celda, con 0 en las vacías. No se modifica.
+     * @return el tablero con los mismos valores.
+     */
+    public static Tablero de(Geometria geometria, int[] valores) {
+        if (!esEmpaquetado(geometria)) {
+            byte[] celdas = new byte[geometria.getCeldas()];
+            for (int celda = 0; celda < celdas.length; celda++) {
+                celdas[celda] = (byte) valores[celda];
+            }
+            return new Tablero(geometria, celdas);
+        }
+        int bits = bitsPorCelda(geometria);
+        int porLong = 64 / bits;
+        long bajo = 0;
+        long alto = 0;
+        for (int celda = geometria.getCeldas() - 1; celda >= 0; celda--) {
+            if (celda < porLong) {
+                bajo = (bajo << bits) | valores[celda];
+            } else {
+                alto = (alto << bits) | valores[celda];
+            }
+        }
+        return new Tablero(geometria, bajo, alto);
+    }
+
+    /**
+     * @return la forma del tablero.
+     */
+    public Geometria getGeometria() {
+        return geometria;
+    }
+
+    /**
+     * @param celda el índice plano de la celda (fila · size + columna).
+     * @return el valor de la celda, 0 si está vacía.
+     */
+    public int get(int celda) {
+        if (celdas != null) {
+            return celdas[celda];
+        }
+        long parte = celda < porLong ? bajo : alto;
+        return (int) (parte >>> ((celda % porLong) * bits)) & ((1 << bits) - 1);
+    }
+
+    /**
+     * @param fila la fila de la celda.
+     * @param colum la columna de la celda.
+     * @return el valor de la celda, 0 si está vacía.
+     */
+    public int get(int fila, int colum) {
+        return get(fila * geometria.getSize() + colum);
+    }
+
+    /**
+     * @param celda el índice plano de la celda.
+     * @param valor el nuevo valor, 0 para vaciarla.
+     * @return un tablero igual a este salvo en esa celda; este no cambia.
+     */
+    public Tablero con(int celda, int valor) {
+        if (valor < 0 || valor > geometria.getSize()) {
+            throw new IllegalArgumentException("Valor fuera de rango: " + valor);
+        }
+        if (celdas != null) {
+            byte[] copia = celdas.clone();
+            copia[celda] = (byte) valor;
+            return new Tablero(geometria, copia);
+        }
+        int desplazamiento = (celda % porLong) * bits;
+        long mascara = ~((long) ((1 << bits) - 1) << desplazamiento);
+        long nuevo = (long) valor << desplazamiento;
+        return celda < porLong
+                ? new Tablero(geometria, (bajo & mascara) | nuevo, alto)
+                : new Tablero(geometria, bajo, (alto & mascara) | nuevo);
+    }
+
+    /**
+     * @param fila la fila de la celda.
+     * @param colum la columna de la celda.
+     * @param valor el nuevo valor, 0 para vaciarla.
+     * @return un tablero igual a este salvo en esa celda; este no cambia.
+     */
+    public Tablero con(int fila, int colum, int valor) {
+        return con(fila * geometria.getSize() + colum, valor);
+    }
+
+    /**
+     * @return cuántas celdas tienen un número.
+     */
+    public int getLlenas() {
+        int llenas = 0;
+        for (int celda = 0; celda < geometria.getCeldas(); celda++) {
+            if (get(celda) != 0) {
+                llenas++;
+            }
+        }
+        return llenas;
+    }
+
+    /**
+     * Copia los valores en una matriz del llamador, sin crear objetos.
+     *
+     * @param destino la matriz de size x size donde se escriben.
+     */
+    public void copiarEn(int[][] destino) {
+        int size = geometria.getSize();
+        for (int celda = 0; celda < geometria.getCeldas(); celda++) {
+            destino[celda / size][celda % size] = get(celda);
+        }
+    }
+
+    /**
+     * @return una matriz nueva con los valores, para las partes que trabajan con {@code int[][]}.
+     */
+    public int[][] aMatriz() {
+        int size = geometria.getSize();
+        int[][] matriz = new int[size][size];
+        copiarEn(matriz);
+        return matriz;
+    }
+
+    @Override
+    public boolean equals(Object otro) {
+        if (this == otro) {
+            return true;
+        }
+        if (!(otro instanceof Tablero)) {
+            return false;
+        }
+        Tablero tablero = (Tablero) otro;
+        return geometria.getSubFila() == tablero.geometria.getSubFila()
+                && geometria.getSubColumna() == tablero.geometria.getSubColumna()
+                && bajo == tablero.bajo
+                && alto == tablero.alto
+                && Arrays.equals(celdas, tablero.celdas);
+    }
+
+    @Override
+    public int hashCode() {
+        if (celdas != null) {
+            return Arrays.hashCode(celdas);
+        }
+        long h = bajo * 0x9E3779B97F4A7C15L + alto;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * @return el tablero en el texto compacto de {@link FormatoTablero}.
+     */
+    @Override
+    public String toString() {
+        StringBuilder texto = new StringBuilder(geometria.getCeldas());
+        FormatoTablero.escribir(this, texto);
+        return texto.toString();
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.gamesudoku.Model;
+
+import java.util.OptionalLong;
+
+/**
+ * Un juego listo para jugar: el tablero inicial con celdas vacías y su solución.
+ * Los dos son {@link Tablero} inmutables, así que el juego se puede entregar a otro hilo o
+ * guardar en una reserva sin copiarlo.
+ * Si el juego se generó con {@link JuegoSudoku}, lleva además el identificador de 64 bits
+ * con el que se puede volver a generar igual.
+ *
+ * @author Jeferson Stiven Trullott Rivas
+ * @author Juan Carlos Fuentes
+ * @version 1.0
+ */
+public final class TableroGenerado {
+
+    private final Tablero tableroInicial;
+    private final Tablero solucion;
+    private final long id;
+    private final boolean conId;
+
+    /**
+     * @param tableroInicial el tablero con las pistas y 0 en las celdas vacías.
+     * @param solucion el tablero resuelto correspondiente.
+     */
+    public TableroGenerado(Tablero tableroInicial, Tablero solucion) {
+        this.tableroInicial = tableroInicial;
+        this.solucion = solucion;
+        this.id = 0;
+        this.conId = false;
+    }
+
+    /**
+     * @param tableroInicial el tablero con las pistas y 0 en las celdas vacías.
+     * @param solucion el tablero resuelto correspondiente.
+     * @param id el identificador con el que se generó el juego.
+     */
+    public TableroGenerado(Tablero tableroInicial, Tablero solucion, long id) {
+        this.tableroInicial = tableroInicial;
+        this.solucion = solucion;
+        this.id = id;
+        this.conId = true;
+    }
+
+    /**
+     * @return el tablero con las pistas y 0 en las celdas vacías.
+     */
+    public Tablero getTableroInicial() {
+        return tableroInicial;
+    }
+
+    /**
+     * @return el tablero resuelto.
+     */
+    public Tablero getSolucion() {
+        return solucion;
+    }
+
+    /**
+     * @return el identificador con el que se generó el juego, o vacío si vino de otra fuente
+     * (por ejemplo un banco de tableros).
+     */
+    public OptionalLong getId() {
+        return conId ? OptionalLong.of(id) : OptionalLong.empty();
+    }
+}
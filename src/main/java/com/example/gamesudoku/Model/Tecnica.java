@@ -0,0 +1,55 @@
+package com.example.gamesudoku.Model;
+
+/**
+ * Técnicas de resolución humana que aplica {@link SolucionadorLogico}, de la más simple a la
+ * más avanzada.
+ *
+ * @author Jeferson Stiven Trullott Rivas
+ * @author Juan Carlos Fuentes
+ * @version 1.0
+ */
+public enum Tecnica {
+
+    /**
+     * Un número que solo cabe en una celda de su fila, columna o bloque.
+     */
+    SOLITARIO_OCULTO("solitario oculto", Dificultad.FACIL),
+
+    /**
+     * Una celda en la que solo cabe un número.
+     */
+    SOLITARIO_DESNUDO("solitario desnudo", Dificultad.MEDIA),
+
+    /**
+     * Un número que dentro de un bloque solo cabe en una fila o columna (o al revés), y por
+     * eso se descarta del resto de esa fila, columna o bloque.
+     */
+    INTERSECCION("intersección", Dificultad.DIFICIL),
+
+    /**
+     * Dos celdas de una unidad con los mismos dos candidatos, que se descartan del resto de la unidad.
+     */
+    PAREJA_DESNUDA("pareja desnuda", Dificultad.DIFICIL);
+
+    private final String nombre;
+    private final Dificultad dificultad;
+
+    Tecnica(String nombre, Dificultad dificultad) {
+        this.nombre = nombre;
+        this.dificultad = dificultad;
+    }
+
+    /**
+     * @return el nombre de la técnica para mostrar al jugador.
+     */
+    public String getNombre() {
+        return nombre;
+    }
+
+    /**
+     * @return la dificultad de un tablero que necesita esta técnica.
+     */
+    public Dificultad getDificultad() {
+        return dificultad;
+    }
+}
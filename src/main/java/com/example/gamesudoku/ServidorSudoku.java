@@ -0,0 +1,321 @@
+package com.example.gamesudoku;
+
+import com.example.gamesudoku.Model.Dificultad;
+import com.example.gamesudoku.Model.EstadoTablero;
+import com.example.gamesudoku.Model.FormatoTablero;
+import com.example.gamesudoku.Model.Geometria;
+import com.example.gamesudoku.Model.MotorSudoku;
+import com.example.gamesudoku.Model.Pista;
+import com.example.gamesudoku.Model.Tablero;
+import com.example.gamesudoku.Model.TableroGenerado;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Servicio HTTP local de sudoku sobre un único {@link MotorSudoku} compartido.
+ * <p>
+ * Uso: {@code ServidorSudoku [--puerto P] [--hilos H] [--cola C] [--tamanio N]}
+ * <p>
+ * Rutas (todas con GET y parámetros en la consulta; los tableros en el texto compacto de
+ * {@link FormatoTablero}):
+ * <ul>
+ *     <li>{@code /nuevo?dificultad=D&id=X}: genera un juego, ambos parámetros opcionales.
+ *     Responde {@code id;inicial}, con el id en hexadecimal.</li>
+ *     <li>{@code /validar?tablero=T&fila=F&columna=C&valor=V}: responde {@code 1} si ningún
+ *     vecino de la celda tiene ya ese número, {@code 0} si no.</li>
+ *     <li>{@code /pista?id=X&dificultad=D&tablero=T}: responde {@code fila;columna;valor;MOTIVO},
+ *     o {@code -} si no hay nada que sugerir.</li>
+ *     <li>{@code /comprobar?id=X&dificultad=D&tablero=T}: responde {@code 1} si está resuelto,
+ *     o {@code 0;correctas;llenas}.</li>
+ * </ul>
+ * El servidor no guarda partidas: la pista y la comprobación vuelven a generar el juego desde
+ * su id (lo que da siempre el mismo juego) y le aplican las celdas que manda el cliente.
+ * <p>
+ * El hilo de {@link HttpServer} solo lee la ruta y pasa el trabajo a un pool de tamaño fijo
+ * con una cola acotada. Si la cola está llena la petición se contesta en el acto con 503 y
+ * {@code Retry-After}, en lugar de acumularse y hacer crecer la latencia de todas.
+ * <p>
+ * El {@link HttpServer} del JDK escribe cabeceras y cuerpo por separado; con Nagle activo cada
+ * respuesta espera el ACK retrasado del cliente (unos 40 ms en Linux). Los {@code main} de
+ * este servicio y de {@link CargaServidor} lo desactivan; quien cree el servidor desde otro
+ * programa debe lanzarlo con {@code -Dsun.net.httpserver.nodelay=true}, que el JDK lee una
+ * sola vez al cargar sus clases del servidor.
+ *
+ * @author Jeferson Stiven Trullott Rivas
+ * @author Juan Carlos Fuentes
+ * @version 1.0
+ */
+public class ServidorSudoku {
+
+    /**
+     * Segundos que se sugiere esperar al cliente rechazado por sobrecarga.
+     */
+    private static final String REINTENTAR_EN = "1";
+
+    private final MotorSudoku motor;
+    private final HttpServer servidor;
+    private final ThreadPoolExecutor trabajadores;
+    private final LongAdder rechazadas = new LongAdder();
+
+    /**
+     * @param motor el motor compartido por todos los trabajadores.
+     * @param direccion dónde escuchar; el puerto 0 elige uno libre.
+     * @param hilos trabajadores que atienden peticiones a la vez.
+     * @param cola peticiones que pueden esperar trabajador antes de rechazar con 503.
+     * @throws IOException si no se puede abrir el puerto.
+     */
+    public ServidorSudoku(MotorSudoku motor, InetSocketAddress direccion, int hilos, int cola) throws IOException {
+        this.motor = motor;
+        AtomicInteger numero = new AtomicInteger();
+        this.trabajadores = new ThreadPoolExecutor(hilos, hilos, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(cola), tarea -> {
+                    Thread hilo = new Thread(tarea, "servidor-sudoku-" + numero.incrementAndGet());
+                    hilo.setDaemon(true);
+                    return hilo;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        this.servidor = HttpServer.create(direccion, 0);
+        // Sin ejecutor propio: el hilo despachador solo encola y así el rechazo es inmediato
+        servidor.setExecutor(null);
+        registrar("/nuevo", this::nuevo);
+        registrar("/validar", this::validar);
+        registrar("/pista", this::pista);
+        registrar("/comprobar", this::comprobar);
+    }
+
+    public static void main(String[] args) throws IOException {
+        desactivarNagle();
+        int puerto = 8080;
+        int hilos = Runtime.getRuntime().availableProcessors();
+        int cola = 64;
+        Geometria geometria = Geometria.G6X6;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--puerto": puerto = Integer.parseInt(args[++i]); break;
+                case "--hilos": hilos = Integer.parseInt(args[++i]); break;
+                case "--cola": cola = Integer.parseInt(args[++i]); break;
+                case "--tamanio": geometria = Geometria.de(Integer.parseInt(args[++i])); break;
+                default: throw new IllegalArgumentException("Opción desconocida: " + args[i]);
+            }
+        }
+        ServidorSudoku servidor = new ServidorSudoku(new MotorSudoku(geometria),
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), puerto), hilos, cola);
+        servidor.iniciar();
+        System.out.printf("Servidor %s en http://localhost:%d con %d hilos y cola de %d%n",
+                geometria, servidor.getPuerto(), hilos, cola);
+    }
+
+    /**
+     * Pide {@code TCP_NODELAY} a los servidores HTTP del JDK, si no se indicó otra cosa al
+     * lanzar. Afecta a todo el proceso y solo sirve antes de crear el primer {@link HttpServer},
+     * por eso lo llaman únicamente los {@code main}.
+     */
+    static void desactivarNagle() {
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    /**
+     * Empieza a aceptar conexiones.
+     */
+    public void iniciar() {
+        servidor.start();
+    }
+
+    /**
+     * Deja de aceptar conexiones y espera a que terminen las peticiones en curso.
+     */
+    public void detener() {
+        servidor.stop(0);
+        trabajadores.shutdown();
+        try {
+            trabajadores.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return el puerto en que escucha, útil si se pidió el 0.
+     */
+    public int getPuerto() {
+        return servidor.getAddress().getPort();
+    }
+
+    /**
+     * @return cuántas peticiones se rechazaron con 503 por tener la cola llena.
+     */
+    public long getRechazadas() {
+        return rechazadas.sum();
+    }
+
+    private void registrar(String ruta, Function<Map<String, String>, String> atender) {
+        servidor.createContext(ruta, intercambio -> {
+            if (!"GET".equals(intercambio.getRequestMethod())) {
+                responder(intercambio, 405, "Solo GET");
+                return;
+            }
+            if (!ruta.equals(intercambio.getRequestURI().getPath())) {
+                responder(intercambio, 404, "Ruta desconocida");
+                return;
+            }
+            try {
+                trabajadores.execute(() -> atender(intercambio, atender));
+            } catch (RejectedExecutionException e) {
+                rechazadas.increment();
+                intercambio.getResponseHeaders().set("Retry-After", REINTENTAR_EN);
+                responder(intercambio, 503, "Ocupado");
+            }
+        });
+    }
+
+    private static void atender(HttpExchange intercambio, Function<Map<String, String>, String> atender) {
+        String respuesta;
+        try {
+            respuesta = atender.apply(parametros(intercambio.getRequestURI().getRawQuery()));
+        } catch (IllegalArgumentException e) {
+            responder(intercambio, 400, e.getMessage() == null ? "Petición inválida" : e.getMessage());
+            return;
+        } catch (RuntimeException | Error e) {
+            // Cualquier otra falla igual debe responder y cerrar, o el cliente queda esperando
+            System.err.println("Error al atender " + intercambio.getRequestURI() + ": " + e);
+            responder(intercambio, 500, "Error interno");
+            if (e instanceof Error) {
+                throw (Error) e;
+            }
+            return;
+        }
+        responder(intercambio, 200, respuesta);
+    }
+
+    private String nuevo(Map<String, String> parametros) {
+        Dificultad dificultad = dificultad(parametros);
+        String id = parametros.get("id");
+        TableroGenerado juego = id == null
+                ? motor.generar(dificultad)
+                : motor.generar(Long.parseUnsignedLong(id, 16), dificultad);
+        return Long.toHexString(juego.getId().getAsLong()) + ';' + juego.getTableroInicial();
+    }
+
+    private String validar(Map<String, String> parametros) {
+        Tablero tablero = tablero(parametros);
+        int size = motor.getGeometria().getSize();
+        int fila = entero(parametros, "fila", 0, size - 1);
+        int columna = entero(parametros, "columna", 0, size - 1);
+        int valor = entero(parametros, "valor", 1, size);
+        return motor.esMovimientoValido(tablero, fila, columna, valor) ? "1" : "0";
+    }
+
+    private String pista(Map<String, String> parametros) {
+        Pista pista = partida(parametros).siguientePista();
+        if (pista == null) {
+            return "-";
+        }
+        return pista.getFila() + ";" + pista.getColumna() + ';' + pista.getValor() + ';' + pista.getMotivo();
+    }
+
+    private String comprobar(Map<String, String> parametros) {
+        EstadoTablero estado = partida(parametros);
+        if (estado.estaResuelto()) {
+            return "1";
+        }
+        return "0;" + estado.getCorrectas() + ';' + estado.getLlenas();
+    }
+
+    /**
+     * Vuelve a generar el juego del id y le aplica las celdas del tablero del cliente.
+     *
+     * @throws IllegalArgumentException si el tablero cambia alguna celda fija del juego.
+     */
+    private EstadoTablero partida(Map<String, String> parametros) {
+        String id = requerido(parametros, "id");
+        TableroGenerado juego = motor.generar(Long.parseUnsignedLong(id, 16), dificultad(parametros));
+        Tablero inicial = juego.getTableroInicial();
+        Tablero actual = tablero(parametros);
+        EstadoTablero estado = new EstadoTablero(inicial, juego.getSolucion());
+        for (int celda = 0; celda < motor.getGeometria().getCeldas(); celda++) {
+            int valor = actual.get(celda);
+            if (inicial.get(celda) != 0) {
+                if (valor != inicial.get(celda)) {
+                    throw new IllegalArgumentException("El tablero no corresponde al juego " + id);
+                }
+            } else if (valor != 0) {
+                estado.colocar(celda, valor, null);
+            }
+        }
+        return estado;
+    }
+
+    private Tablero tablero(Map<String, String> parametros) {
+        Geometria geometria = motor.getGeometria();
+        return Tablero.de(geometria, FormatoTablero.desdeTexto(requerido(parametros, "tablero"), geometria));
+    }
+
+    private static Dificultad dificultad(Map<String, String> parametros) {
+        String nombre = parametros.get("dificultad");
+        return nombre == null ? null : Dificultad.valueOf(nombre.toUpperCase(Locale.ROOT));
+    }
+
+    private static int entero(Map<String, String> parametros, String nombre, int minimo, int maximo) {
+        int valor = Integer.parseInt(requerido(parametros, nombre));
+        if (valor < minimo || valor > maximo) {
+            throw new IllegalArgumentException(nombre + " fuera de rango: " + valor);
+        }
+        return valor;
+    }
+
+    private static String requerido(Map<String, String> parametros, String nombre) {
+        String valor = parametros.get(nombre);
+        if (valor == null) {
+            throw new IllegalArgumentException("Falta el parámetro " + nombre);
+        }
+        return valor;
+    }
+
+    /**
+     * Lee la consulta de la URL. Los valores que usa el servicio son cifras y letras, así que
+     * no hace falta decodificarlos.
+     */
+    private static Map<String, String> parametros(String consulta) {
+        Map<String, String> parametros = new HashMap<>();
+        if (consulta == null) {
+            return parametros;
+        }
+        for (String par : consulta.split("&")) {
+            int igual = par.indexOf('=');
+            if (igual > 0) {
+                parametros.put(par.substring(0, igual), par.substring(igual + 1));
+            }
+        }
+        return parametros;
+    }
+
+    private static void responder(HttpExchange intercambio, int codigo, String cuerpo) {
+        byte[] bytes = cuerpo.getBytes(StandardCharsets.UTF_8);
+        intercambio.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        try (OutputStream salida = intercambio.getResponseBody()) {
+            intercambio.sendResponseHeaders(codigo, bytes.length);
+            salida.write(bytes);
+        } catch (IOException e) {
+            // El cliente cerró la conexión; no hay a quién avisar
+        } finally {
+            intercambio.close();
+        }
+    }
+}
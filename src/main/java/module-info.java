@@ -1,10 +1,14 @@
 module com.example.gamesudoku {
     requires javafx.controls;
     requires javafx.fxml;
+    requires jdk.jfr;
+    requires jdk.httpserver;
+    requires java.net.http;
 
 
     opens com.example.gamesudoku to javafx.fxml;
     exports com.example.gamesudoku;
     exports com.example.gamesudoku.Controller;
     opens com.example.gamesudoku.Controller to javafx.fxml;
+    exports com.example.gamesudoku.Model to jdk.jfr;
 }
\ No newline at end of file